@@ -0,0 +1,102 @@
+package deadwood.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import deadwood.controller.GameBoard;
+import deadwood.controller.GameSnapshot;
+import deadwood.model.Actor;
+import deadwood.model.RoleCard;
+import deadwood.model.Room;
+import deadwood.util.GameMessageSink;
+
+/**
+ * The player actions the game loop spends its time in. Role and acting
+ * benchmarks change the board, so it is restored from a snapshot before
+ * every call (the restore is not part of the measurement).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class ActorBenchmark {
+    private GameBoard gameBoard;
+    private Actor player;
+    private String setRoom;
+    private String trailerRoom;
+    private String roleName;
+    private GameSnapshot inTrailer;
+    private GameSnapshot onSet;
+    private GameSnapshot onRole;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gameBoard = new GameBoard(BenchmarkSupport.PLAYERS, BenchmarkSupport.SEED, GameMessageSink.NONE);
+        player = gameBoard.getCurrentPlayer();
+        inTrailer = GameSnapshot.capture(gameBoard);
+
+        RoleCard.Role role = BenchmarkSupport.placeOnSet(gameBoard);
+        Room room = player.getLocation().getCurrentRoom();
+        setRoom = room.getRoomID();
+        roleName = role.getName();
+        for (String neighbor : room.getAdjacentRooms()) {
+            if (neighbor.equalsIgnoreCase("trailer")) {
+                trailerRoom = neighbor;
+            }
+        }
+        onSet = GameSnapshot.capture(gameBoard);
+
+        player.inputRole(roleName);
+        onRole = GameSnapshot.capture(gameBoard);
+
+        // inputMove starts from the trailer
+        inTrailer.restore(gameBoard);
+    }
+
+    @State(Scope.Thread)
+    public static class OnSet {
+        @Setup(Level.Invocation)
+        public void reset(ActorBenchmark benchmark) {
+            benchmark.onSet.restore(benchmark.gameBoard);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OnRole {
+        @Setup(Level.Invocation)
+        public void reset(ActorBenchmark benchmark) {
+            benchmark.onRole.restore(benchmark.gameBoard);
+        }
+    }
+
+    // Out to the set and back, so the board ends where it started
+    @Benchmark
+    public boolean inputMove() {
+        boolean out = player.inputMove(setRoom, gameBoard);
+        boolean back = player.inputMove(trailerRoom, gameBoard);
+        return out & back;
+    }
+
+    @Benchmark
+    public boolean inputRole(OnSet state) {
+        return player.inputRole(roleName);
+    }
+
+    @Benchmark
+    public boolean inputAttemptScene(OnRole state) {
+        return player.inputAttemptScene(gameBoard);
+    }
+}
@@ -0,0 +1,27 @@
+package deadwood.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmark suite with the GC profiler, so every result comes with
+ * its allocation rate per operation. Run from the project root, the board
+ * and card XML are loaded from resources/xml.
+ *
+ * args[0] = optional regular expression selecting benchmarks, e.g. "SetBenchmark"
+ */
+public class BenchmarkMain {
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length >= 1 ? args[0] : "deadwood\\.bench\\..*";
+
+        Options options = new OptionsBuilder()
+            .include(include)
+            .addProfiler(GCProfiler.class)
+            .build();
+
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,54 @@
+package deadwood.bench;
+
+import deadwood.controller.GameBoard;
+import deadwood.model.Actor;
+import deadwood.model.RoleCard;
+import deadwood.model.Room;
+import deadwood.model.Set;
+
+/**
+ * Shared setup for the benchmarks. Boards and controllers are built with
+ * GameMessageSink.NONE so nothing is printed or even formatted.
+ */
+final class BenchmarkSupport {
+    // Fixed seed so every fork benchmarks the same deal
+    static final long SEED = 42L;
+    static final int PLAYERS = 4;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * First room next to the trailer that holds an active set
+     */
+    static Room firstSetNextToTrailer(GameBoard gameBoard) {
+        for (String neighbor : gameBoard.getRoom("trailer").getAdjacentRooms()) {
+            Room room = gameBoard.getRoomByID(neighbor.toLowerCase());
+            if (room != null && room.getSet() != null && room.getSet().isActive()) {
+                return room;
+            }
+        }
+        throw new IllegalStateException("No set next to the trailer");
+    }
+
+    /**
+     * Moves the current player next door and returns a rank 1 role they can take there
+     */
+    static RoleCard.Role placeOnSet(GameBoard gameBoard) {
+        Actor player = gameBoard.getCurrentPlayer();
+        Room room = firstSetNextToTrailer(gameBoard);
+        for (String neighbor : gameBoard.getRoom("trailer").getAdjacentRooms()) {
+            if (neighbor.equalsIgnoreCase(room.getRoomID())) {
+                player.inputMove(neighbor, gameBoard);
+            }
+        }
+
+        Set set = room.getSet();
+        for (RoleCard.Role role : set.getAllRoles()) {
+            if (role.getLevel() <= player.getCurrentRank() && set.isRoleAvailable(role.getName())) {
+                return role;
+            }
+        }
+        throw new IllegalStateException("No rank 1 role next to the trailer");
+    }
+}
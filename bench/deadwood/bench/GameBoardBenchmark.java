@@ -0,0 +1,52 @@
+package deadwood.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import deadwood.controller.GameBoard;
+import deadwood.controller.GameEngine;
+import deadwood.util.GameMessageSink;
+
+/**
+ * Board setup (building the rooms from the shared BoardCatalog, card
+ * dealing) and complete headless games
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class GameBoardBenchmark {
+    private GameEngine engine;
+    private long nextSeed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new GameEngine(BenchmarkSupport.PLAYERS);
+        nextSeed = BenchmarkSupport.SEED;
+    }
+
+    @Benchmark
+    public GameBoard construct() {
+        return new GameBoard(BenchmarkSupport.PLAYERS, BenchmarkSupport.SEED, GameMessageSink.NONE);
+    }
+
+    // A different deal every call, the seed sequence is the same in every fork
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public GameEngine.GameResult playGame() {
+        return engine.playGame(nextSeed++);
+    }
+}
@@ -0,0 +1,173 @@
+package deadwood.bench;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import deadwood.controller.GameServer;
+
+/**
+ * Load test for GameServer: opens many tables at once, each driven by its
+ * own virtual thread playing random turns (act, else take a role, else
+ * move, else end), and reports round trips per second and latency
+ * percentiles as seen by the clients. Not a JMH benchmark, run it directly
+ * from the project root:
+ *
+ *   java -cp out deadwood.bench.ServerLoad [tables] [seconds] [port]
+ *
+ * Without a port an in-process server with 4 player games is started.
+ */
+public class ServerLoad {
+    public static void main(String[] args) throws Exception {
+        int tables = args.length >= 1 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length >= 2 ? Integer.parseInt(args[1]) : 10;
+
+        GameServer server = null;
+        int port;
+        if (args.length >= 3) {
+            port = Integer.parseInt(args[2]);
+        } else {
+            server = new GameServer(BenchmarkSupport.PLAYERS, 0);
+            port = server.getPort();
+            GameServer embedded = server;
+            Thread.ofVirtual().start(() -> {
+                try {
+                    embedded.serve();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            });
+        }
+
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        List<Future<long[]>> clients = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < tables; i++) {
+                long seed = i;
+                clients.add(executor.submit(() -> playTable(port, seed, deadline)));
+            }
+        }
+
+        long[] latencies = new long[0];
+        for (Future<long[]> client : clients) {
+            long[] result = client.get();
+            int from = latencies.length;
+            latencies = Arrays.copyOf(latencies, from + result.length);
+            System.arraycopy(result, 0, latencies, from, result.length);
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf("%d tables, %d round trips in %ds, %.0f round trips/s%n",
+            tables, latencies.length, seconds, latencies.length / (double) seconds);
+        System.out.printf("client latency p50 %.1fus, p99 %.1fus, max %.1fus%n",
+            percentile(latencies, 0.5) / 1000.0, percentile(latencies, 0.99) / 1000.0,
+            percentile(latencies, 1.0) / 1000.0);
+        if (server != null) {
+            System.out.println("server " + server.getStats());
+            server.close();
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    // Plays random turns until the deadline, returns the round trip time of every command
+    private static long[] playTable(int port, long seed, long deadline) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        try (Client client = new Client(port)) {
+            while (System.nanoTime() < deadline) {
+                String reply = client.send("act");
+                if (reply.startsWith("ERR")) {
+                    // No role to act in: take one, else move, else pass
+                    reply = pick(client, "roles", "work ", 0, random);
+                    if (!reply.startsWith("OK")) {
+                        reply = pick(client, "where", "move ", 1, random);
+                    }
+                    if (!reply.startsWith("OK") && !reply.startsWith("OVER")) {
+                        reply = client.send("end");
+                    }
+                }
+                if (reply.startsWith("OVER")) {
+                    client.send("new");
+                }
+            }
+            client.send("quit");
+            return client.getLatencies();
+        }
+    }
+
+    // Asks for a "|" separated list and plays a random entry from index first on
+    private static String pick(Client client, String query, String verb, int first, SplittableRandom random)
+            throws IOException {
+        String reply = client.send(query);
+        if (!reply.startsWith("OK ")) {
+            return reply.startsWith("OVER") ? reply : "ERR";
+        }
+        String[] options = reply.substring(3).split("\\|");
+        if (options.length <= first) {
+            return "ERR";
+        }
+        return client.send(verb + options[first + random.nextInt(options.length - first)]);
+    }
+
+    // One table's connection, remembers the round trip time of every command
+    private static class Client implements AutoCloseable {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final Writer out;
+        private long[] latencies;
+        private int count;
+
+        Client(int port) throws IOException {
+            this.socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setTcpNoDelay(true);
+            this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            this.out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+            this.latencies = new long[1024];
+            in.readLine();
+        }
+
+        String send(String command) throws IOException {
+            long start = System.nanoTime();
+            out.write(command);
+            out.write('\n');
+            out.flush();
+            String reply = in.readLine();
+            if (reply == null) {
+                throw new IOException("Server closed the connection");
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+            return reply;
+        }
+
+        long[] getLatencies() {
+            return Arrays.copyOf(latencies, count);
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+}
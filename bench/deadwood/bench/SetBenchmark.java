@@ -0,0 +1,76 @@
+package deadwood.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import deadwood.controller.GameBoard;
+import deadwood.model.RoleCard;
+import deadwood.model.Set;
+import deadwood.util.GameMessageSink;
+
+/**
+ * Role lookups by name, each run for a starring role, an extra role and a
+ * name that is not on the set, against the same checks by role index
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class SetBenchmark {
+    private Set set;
+    private String[] names;
+    private int[] indices;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        GameBoard gameBoard = new GameBoard(BenchmarkSupport.PLAYERS, BenchmarkSupport.SEED, GameMessageSink.NONE);
+        set = BenchmarkSupport.firstSetNextToTrailer(gameBoard).getSet();
+
+        RoleCard.Role starring = set.getRoleCard().getSceneRoles().get(0);
+        RoleCard.Role extra = set.getExtraRolesCard().getSceneRoles().get(0);
+        names = new String[] { starring.getName(), extra.getName(), "Nobody At All" };
+        indices = new int[] { set.getRoleIndex(starring.getName()), set.getRoleIndex(extra.getName()), -1 };
+    }
+
+    @Benchmark
+    public void getRole(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(set.getRole(name));
+        }
+    }
+
+    @Benchmark
+    public void isRoleAvailable(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(set.isRoleAvailable(name));
+        }
+    }
+
+    @Benchmark
+    public void isExtraRole(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(set.isExtraRole(name));
+        }
+    }
+
+    @Benchmark
+    public void isRoleTakenByIndex(Blackhole blackhole) {
+        for (int index : indices) {
+            blackhole.consume(set.isRoleTaken(index));
+        }
+    }
+}
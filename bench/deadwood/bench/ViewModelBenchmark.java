@@ -0,0 +1,54 @@
+package deadwood.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import deadwood.controller.GameController;
+import deadwood.util.GameMessageSink;
+
+/**
+ * View models the GUI rebuilds after every action, with the current player
+ * standing on a set so the scene view model has roles to list
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dfile.encoding=UTF-8")
+public class ViewModelBenchmark {
+    private GameController controller;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        controller = new GameController(BenchmarkSupport.PLAYERS, BenchmarkSupport.SEED, GameMessageSink.NONE);
+        BenchmarkSupport.placeOnSet(controller.getGameBoard());
+    }
+
+    @Benchmark
+    public GameController.BoardViewModel getBoardViewModel() {
+        return controller.getBoardViewModel();
+    }
+
+    @Benchmark
+    public List<GameController.PlayerViewModel> getAllPlayersViewModels() {
+        return controller.getAllPlayersViewModels();
+    }
+
+    @Benchmark
+    public GameController.SceneViewModel getCurrentSceneViewModel() {
+        return controller.getCurrentSceneViewModel();
+    }
+}
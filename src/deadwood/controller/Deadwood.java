@@ -1,24 +1,38 @@
 package deadwood.controller;
 
+import java.io.IOException;
+
 import deadwood.model.Actor;
 import deadwood.view.GameView;
 import deadwood.view.PlayerInterface;
 
 public class Deadwood {
+    // Time a computer player may think about each move
+    private static final long BOT_MOVE_MILLIS = 1000;
+
+    // How often server mode prints its statistics
+    private static final long STATS_INTERVAL_MILLIS = 10000;
     
     /**
      * Main method to start the game
      * 
      * @param args Command line arguments:
      *             args[0] = number of players (2-8)
-     *             args[1] = interface mode (optional, "gui" or "text", defaults to "gui")
+     *             args[1] = interface mode (optional, "gui", "text", "sim" or "server", defaults to "gui")
+     *             args[2] = number of computer players, taking the last seats
+     *                       (gui/text, defaults to 0), number of games to
+     *                       simulate (sim mode, defaults to 10000) or port
+     *                       (server mode, defaults to GameServer.DEFAULT_PORT)
+     *             args[3] = tournament seed (sim mode only, random by default)
      */
     public static void main(String[] args) {
         System.out.println("Welcome to Deadwood! Initializing game...");
 
         // Parse number of players argument
         if (args.length < 1) {
-            System.out.println("Usage: java Deadwood <numPlayers> [gui/text]");
+            System.out.println("Usage: java Deadwood <numPlayers> [gui/text] [bots]");
+            System.out.println("       java Deadwood <numPlayers> sim [games] [seed]");
+            System.out.println("       java Deadwood <numPlayers> server [port]");
             return;
         }
 
@@ -39,18 +53,39 @@ public class Deadwood {
         boolean useGUI = true; // Default to GUI
         if (args.length >= 2) {
             String interfaceMode = args[1].toLowerCase();
-            if (interfaceMode.equals("text")) {
+            if (interfaceMode.equals("sim")) {
+                runSimulation(numPlayers, args);
+                return;
+            } else if (interfaceMode.equals("server")) {
+                runServer(numPlayers, args);
+                return;
+            } else if (interfaceMode.equals("text")) {
                 useGUI = false;
             } else if (!interfaceMode.equals("gui")) {
                 System.out.println("Warning: Unrecognized interface mode. Using GUI by default.");
             }
         }
 
+        // Parse the number of computer players
+        int numBots = 0;
+        if (args.length >= 3) {
+            try {
+                numBots = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                numBots = -1;
+            }
+            if (numBots < 0 || numBots > numPlayers) {
+                System.out.println("Error: Number of computer players must be between 0 and " + numPlayers + ".");
+                return;
+            }
+        }
+        final int botCount = numBots;
+
         if (useGUI) {
             // Start the GUI version
             System.out.println("Starting Deadwood with GUI interface...");
             javax.swing.SwingUtilities.invokeLater(() -> {
-                GameView gameView = new GameView(numPlayers);
+                GameView gameView = new GameView(numPlayers, botCount);
             });
         } else {
             // Start the text-based version
@@ -66,21 +101,99 @@ public class Deadwood {
             }
             playerInterface.setCurrentPlayer(currentPlayer);
 
+            // The last seats are played by the computer
+            MctsBot bot = numBots > 0 ? new MctsBot(BOT_MOVE_MILLIS) : null;
+            int firstBotSeat = numPlayers - numBots;
+
             System.out.println("Game started with " + numPlayers + " players!");
             System.out.println("Type 'help' for available commands.");
 
-            // Start the game loop
-            while (true) {
+            // Start the game loop, runs until the last day is over
+            while (!game.isGameOver()) {
                 // Get the current player (may have changed after a turn ends)
                 currentPlayer = game.getCurrentPlayer();
                 playerInterface.setCurrentPlayer(currentPlayer);
                 
                 // Display a turn delimiter for clarity
                 System.out.println("\n====== Player " + currentPlayer.getPlayerID() + "'s Turn ======");
+
+                if (bot != null && game.getAllPlayers().indexOf(currentPlayer) >= firstBotSeat) {
+                    // Computer players pick an action and end their turn
+                    int action = bot.chooseAction(game);
+                    System.out.println("Player " + currentPlayer.getPlayerID() + " (computer): "
+                        + LegalActions.describe(game, action));
+                    LegalActions.play(game, action);
+                    continue;
+                }
                 
                 // Process the current player's command
                 playerInterface.processCommand();
             }
+
+            System.out.println(game.getGameOverEvent());
+        }
+    }
+
+    /**
+     * Plays a headless tournament on all cores and prints per-player statistics
+     */
+    private static void runSimulation(int numPlayers, String[] args) {
+        int numGames = 10000;
+        long seed = new java.util.SplittableRandom().nextLong();
+
+        try {
+            if (args.length >= 3) {
+                numGames = Integer.parseInt(args[2]);
+            }
+            if (args.length >= 4) {
+                seed = Long.parseLong(args[3]);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("Error: Invalid number of games or seed.");
+            return;
+        }
+
+        if (numGames < 1) {
+            System.out.println("Error: Number of games must be at least 1.");
+            return;
+        }
+
+        System.out.println("Simulating " + numGames + " games with " + numPlayers + " players (seed " + seed + ")...");
+        TournamentRunner runner = new TournamentRunner(numPlayers, numGames, seed);
+        System.out.print(runner.run());
+    }
+
+    /**
+     * Hosts games over TCP on the loopback interface until the process is
+     * killed, printing load statistics every few seconds
+     */
+    private static void runServer(int numPlayers, String[] args) {
+        int port = GameServer.DEFAULT_PORT;
+        if (args.length >= 3) {
+            try {
+                port = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                System.out.println("Error: Invalid port.");
+                return;
+            }
+        }
+
+        try (GameServer server = new GameServer(numPlayers, port)) {
+            System.out.println("Serving " + numPlayers + " player games on localhost:" + server.getPort());
+            Thread reporter = Thread.ofVirtual().start(() -> {
+                try {
+                    while (true) {
+                        Thread.sleep(STATS_INTERVAL_MILLIS);
+                        System.out.println(server.getStats());
+                    }
+                } catch (InterruptedException e) {
+                    // Server is shutting down
+                }
+            });
+            server.serve();
+            reporter.interrupt();
+        } catch (IOException e) {
+            System.out.println("Error: Could not run the server - " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
@@ -1,34 +1,78 @@
 package deadwood.controller;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.w3c.dom.Document;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import deadwood.model.Actor;
 import deadwood.model.Room;
 import deadwood.model.DayTracker;
 import deadwood.model.RoleCard;
+import deadwood.model.RoomOccupancy;
 import deadwood.model.Trailer;
 import deadwood.model.CastingOffice;
+import deadwood.model.SceneDeck;
+import deadwood.model.SceneWrapPayout;
 import deadwood.model.Set;
 
-import deadwood.util.BoardXMLParser;
-import deadwood.util.CardXMLParser;
-import deadwood.util.ParseXML;
+import deadwood.util.BoardCatalog;
+import deadwood.util.BoardGraph;
+import deadwood.util.ConsoleMessageSink;
+import deadwood.util.GameMessageSink;
+import deadwood.util.GameMessageSink.Type;
 
 // Initializes the game
 public class GameBoard {
+    private BoardCatalog catalog;
     private Map<String, Room> rooms;
     private List<Actor> players;
     private int playerCount;
     private TurnTracker turnTracker;
     private DayTracker dayTracker;
     private List<RoleCard> cards;
+    private Room[] roomOrder;
+    private CastingOffice castingOffice;
+    private RoleCard[] extraRolesCards;
+    private int[] roomTakes;
+    // Position in cards of the scene card each room was dealt, -1 for none
+    private int[] sceneCards;
+    private SceneDeck sceneDeck;
+    // Sets dealt today and how many of them are still shooting
+    private int scenesToday;
+    private int activeScenes;
+    private RoomOccupancy occupancy;
+    private BoardGraph graph;
+    private long seed;
+    private SplittableRandom random;
+    private SceneWrapPayout sceneWrapPayout;
+    private GameMessageSink messages;
+    private List<Consumer<GameOverEvent>> gameOverListeners;
     
     public GameBoard(int numPlayers) {
+        this(numPlayers, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a game whose dice, scene bonuses and card shuffles all come from
+     * one random source, so the same seed replays the same game
+     */
+    public GameBoard(int numPlayers, long seed) {
+        this(numPlayers, seed, new ConsoleMessageSink());
+    }
+
+    /**
+     * Creates a seeded game that reports everything it does to the given sink.
+     * Pass GameMessageSink.NONE when nobody reads the messages.
+     */
+    public GameBoard(int numPlayers, long seed, GameMessageSink messages) {
+        if (messages == null) {
+            throw new IllegalArgumentException("Message sink cannot be null");
+        }
         if (numPlayers < 2 || numPlayers > 8) {
             throw new IllegalArgumentException("Game requires 2-8 players");
         }
@@ -36,6 +80,15 @@ public class GameBoard {
         this.players = new ArrayList<>();
         this.rooms = new HashMap<>();
         this.cards = new ArrayList<>();
+        this.roomOrder = new Room[0];
+        this.extraRolesCards = new RoleCard[0];
+        this.roomTakes = new int[0];
+        this.occupancy = new RoomOccupancy();
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        this.messages = messages;
+        this.sceneWrapPayout = new SceneWrapPayout(messages);
+        this.gameOverListeners = new ArrayList<>();
         initiateBoardState();
     }
 
@@ -59,7 +112,8 @@ public class GameBoard {
             }
             
             // Create player with appropriate starting values
-            Actor player = new Actor(i, startingRank);
+            Actor player = new Actor(i, startingRank, random, messages);
+            player.getLocation().trackOccupancy(occupancy, player);
             
             // Set starting credits if needed
             if (startingCredits > 0) {
@@ -72,7 +126,7 @@ public class GameBoard {
         // Initialize rooms
         createRooms();
         
-        // Parse cards and distribute them to sets
+        // Build the deck and deal the first day's scenes
         loadCardsAndDistribute();
 
         // Create dayTracker with days based on player count
@@ -89,69 +143,89 @@ public class GameBoard {
         resetPlayerLocations();
         
         // Display game setup information
-        System.out.println("\n==================================");
-        System.out.println("       GAME CONFIGURATION        ");
-        System.out.println("==================================");
-        System.out.println("Number of players: " + playerCount);
-        System.out.println("Number of days: " + maxDays);
+        if (!messages.isEnabled(Type.SETUP)) {
+            return;
+        }
+        say(Type.SETUP, "\n==================================");
+        say(Type.SETUP, "       GAME CONFIGURATION        ");
+        say(Type.SETUP, "==================================");
+        say(Type.SETUP, "Number of players: " + playerCount);
+        say(Type.SETUP, "Number of days: " + maxDays);
         
         if (playerCount == 5) {
-            System.out.println("Starting bonus: 2 credits per player");
+            say(Type.SETUP, "Starting bonus: 2 credits per player");
         } else if (playerCount == 6) {
-            System.out.println("Starting bonus: 4 credits per player");
+            say(Type.SETUP, "Starting bonus: 4 credits per player");
         } else if (playerCount >= 7) {
-            System.out.println("Starting bonus: All players begin at Rank 2");
+            say(Type.SETUP, "Starting bonus: All players begin at Rank 2");
         }
-        System.out.println("==================================\n");
+        say(Type.SETUP, "==================================\n");
+    }
+
+    private void say(Type type, String text) {
+        messages.message(type, GameMessageSink.NO_PLAYER, text);
+    }
+
+    /**
+     * Where this game's messages go
+     */
+    public GameMessageSink getMessageSink() {
+        return messages;
     }
         
     
     private void loadCardsAndDistribute() {
-        try {
-            // Parse cards XML
-            ParseXML parser = new ParseXML();
-            Document cardDoc = parser.getDocFromFile("cards.xml");  // Just pass the filename
-            
-            // Use CardXMLParser to extract card information
-            CardXMLParser cardParser = new CardXMLParser(cardDoc);
-            this.cards = cardParser.parseCards();
-            
-            // Distribute cards to sets
-            distributeCards(cards);
-            
-        } catch (Exception e) {
-            System.out.println("ERROR: Failed to load cards - " + e.getMessage());
-            e.printStackTrace();
+        // Cards come from the shared catalog, nothing is parsed per game or per day.
+        // The deck lasts the whole game so no scene is dealt twice.
+        if (catalog != null) {
+            this.cards = catalog.getCards();
         }
+        this.sceneDeck = new SceneDeck(cards);
+        distributeCards();
     }
     
     private void createRooms() {
-        BoardXMLParser boardParser = null;
-    
         try {
-            ParseXML parser = new ParseXML();
-            Document doc = parser.getDocFromFile("board.xml");
-            boardParser = new BoardXMLParser(doc);
-        } catch (Exception e) {
-            System.out.println("ERROR: Failed to parse board.xml - " + e.getMessage());
+            catalog = BoardCatalog.getDefault(messages);
+        } catch (IllegalStateException e) {
+            say(Type.ERROR, "ERROR: Failed to load board catalog - " + e.getMessage());
             e.printStackTrace();
             return;
         }
     
-        Map<String, Room> parsedRooms = boardParser.parseRooms();
-    
-        // Store all parsed rooms in GameBoard
-        for (Map.Entry<String, Room> entry : parsedRooms.entrySet()) {
+        // Every game gets its own rooms and sets built from the catalog
+        for (Map.Entry<String, Room> entry : catalog.createRooms().entrySet()) {
+            entry.getValue().setMessageSink(messages);
             rooms.put(entry.getKey(), entry.getValue());
         }
         
+        // Give every room a stable index (sorted by room key) and remember the
+        // extra roles and takes every day's set starts with
+        List<String> roomKeys = catalog.getRoomKeys();
+        roomOrder = new Room[roomKeys.size()];
+        extraRolesCards = new RoleCard[roomKeys.size()];
+        roomTakes = new int[roomKeys.size()];
+        sceneCards = new int[roomKeys.size()];
+        Arrays.fill(sceneCards, -1);
+        for (int i = 0; i < roomOrder.length; i++) {
+            roomOrder[i] = rooms.get(roomKeys.get(i));
+            extraRolesCards[i] = catalog.getExtraRolesCard(roomKeys.get(i));
+            roomTakes[i] = catalog.getTakes(roomKeys.get(i));
+            occupancy.addRoom(roomOrder[i], playerCount);
+            if (roomOrder[i] instanceof CastingOffice) {
+                castingOffice = (CastingOffice) roomOrder[i];
+            }
+        }
+        
+        // Room indices are the graph's room IDs
+        graph = catalog.getGraph();
     }
 
     public void resetPlayerLocations() {
         Room trailer = rooms.get("trailer");
     
         if (trailer == null) {
-            System.out.println("Error: Trailer room not found.");
+            say(Type.ERROR, "Error: Trailer room not found.");
             return;
         }
     
@@ -162,7 +236,7 @@ public class GameBoard {
     
     public Actor getCurrentPlayer() {
         if (players.isEmpty()) {
-            System.out.println("Error: No players found in game.");
+            say(Type.ERROR, "Error: No players found in game.");
             return null;
         }
         return turnTracker.getCurrentPlayer();
@@ -172,32 +246,45 @@ public class GameBoard {
         return rooms.get(roomID);
     }
     
+    /**
+     * Checks that two rooms are next to each other. Rooms are given by key or
+     * display name in any case, "office" and "Casting Office" are the same room.
+     */
     public boolean validatePlayerMove(String fromRoom, String toRoom) {
-        Room current = rooms.get(fromRoom.toLowerCase());
-    
-        if (current == null) {
-            System.out.println("Error: Current room '" + fromRoom + "' not found.");
+        int from = graph != null ? graph.resolve(fromRoom) : -1;
+        if (from < 0) {
+            say(Type.ERROR, "Error: Current room '" + fromRoom + "' not found.");
             return false;
         }
     
-        // Convert all neighbor names to lowercase 
-        List<String> normalizedNeighbors = new ArrayList<>();
-        for (String neighbor : current.getAdjacentRooms()) {
-            normalizedNeighbors.add(neighbor.toLowerCase());
-        }
-    
-        boolean validMove = normalizedNeighbors.contains(toRoom.toLowerCase());
-    
+        boolean validMove = isAdjacent(from, graph.resolve(toRoom));
         if (!validMove) {
-            System.out.println("Move failed: " + toRoom + " is not adjacent to " + fromRoom + ".");
+            say(Type.WARNING, "Move failed: " + toRoom + " is not adjacent to " + fromRoom + ".");
         }
     
         return validMove;
     }
     
+    // Whether a player can move between two rooms, false for unknown (negative) indices
+    public boolean isAdjacent(int fromRoomIndex, int toRoomIndex) {
+        return fromRoomIndex >= 0 && toRoomIndex >= 0 && graph.isAdjacent(fromRoomIndex, toRoomIndex);
+    }
+    
+    /**
+     * Index of a room by key or display name, ignoring case
+     * 
+     * @return The room index, -1 if the board has no such room
+     */
+    public int resolveRoomIndex(String roomName) {
+        return graph != null ? graph.resolve(roomName) : -1;
+    }
+    
     
     public int endTurn() {
-        System.out.println("Ending turn for Player " + getCurrentPlayer().getPlayerID());
+        if (messages.isEnabled(Type.TURN)) {
+            int playerID = getCurrentPlayer().getPlayerID();
+            messages.message(Type.TURN, playerID, "Ending turn for Player " + playerID);
+        }
         
         // Use turnTracker to advance to the next player
         turnTracker.endTurn();
@@ -205,21 +292,68 @@ public class GameBoard {
         // Get the new current player ID
         int newPlayerID = getCurrentPlayer().getPlayerID();
         
-        System.out.println("Starting turn for Player " + newPlayerID);
+        if (messages.isEnabled(Type.TURN)) {
+            messages.message(Type.TURN, newPlayerID, "Starting turn for Player " + newPlayerID);
+        }
+        // A turn is the natural batch for buffered sinks
+        messages.flush();
         
         return newPlayerID;
     }
     
     
+    // Deals the next day's scenes from the game's deck, every set is replaced
     public void reloadAndDistributeCards() {
-        // First, clear all existing sets from rooms
-        for (Room room : rooms.values()) {
-            // Remove any existing set
-            room.completeScene(); 
+        distributeCards();
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public SplittableRandom getRandom() {
+        return random;
+    }
+    
+    public int getCurrentDay() {
+        return dayTracker.getCurrentDay();
+    }
+    
+    public int getMaxDays() {
+        return dayTracker.getMaxDay();
+    }
+    
+    public boolean isGameOver() {
+        return turnTracker.isGameOver();
+    }
+    
+    /**
+     * Final standings, null while the game is still being played
+     */
+    public GameOverEvent getGameOverEvent() {
+        return isGameOver() ? GameOverEvent.of(this) : null;
+    }
+    
+    /**
+     * Calls the listener with the final standings when the last day ends.
+     * It runs on the thread that ended the game.
+     */
+    public void addGameOverListener(Consumer<GameOverEvent> listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
+        }
+        gameOverListeners.add(listener);
+    }
+    
+    // Called by the turn tracker once the last day is over
+    void finishGame() {
+        if (gameOverListeners.isEmpty()) {
+            return;
+        }
+        GameOverEvent event = GameOverEvent.of(this);
+        for (Consumer<GameOverEvent> listener : gameOverListeners) {
+            listener.accept(event);
         }
-        
-        // Then load and distribute new cards
-        loadCardsAndDistribute();
     }
     
     public Room getRoomByID(String roomID) {
@@ -227,122 +361,195 @@ public class GameBoard {
     }
     
     
-    private void distributeCards(List<RoleCard> cards) {
-        if (cards == null || cards.isEmpty()) {
-            System.out.println("ERROR: No cards available to distribute!");
-            return;
+    // Gives every film set a fresh set with the next scene from the deck,
+    // its full takes and its extra roles. Rooms are dealt in room index
+    // order so the deal only depends on the seed.
+    private void distributeCards() {
+        if (sceneDeck.getRemainingCount() == 0) {
+            say(Type.ERROR, "ERROR: No cards available to distribute!");
         }
         
-        // Make a copy of the cards we can modify
-        List<RoleCard> availableCards = new ArrayList<>(cards);
-        
-        // Shuffle the cards to randomize distribution
-        Collections.shuffle(availableCards);
-        
-        // Find all rooms that can have sets (exclude trailer and office)
-        List<Room> setRooms = new ArrayList<>();
-        for (Map.Entry<String, Room> entry : rooms.entrySet()) {
-            Room room = entry.getValue();
-            if (!(room instanceof Trailer) && !(room instanceof CastingOffice)) {
-                setRooms.add(room);
+        scenesToday = 0;
+        for (int i = 0; i < roomOrder.length; i++) {
+            Room room = roomOrder[i];
+            if (room instanceof Trailer || room instanceof CastingOffice) {
+                continue;
             }
-        }
-        
-        // Distribute cards to rooms
-        int cardIndex = 0;
-        for (Room room : setRooms) {
-            if (cardIndex < availableCards.size()) {
-                // Get the next card
-                RoleCard card = availableCards.get(cardIndex++);
-                
-                // Set shots to default
-                int shots = 3; 
-                
-                // Check if the room already has a set with extra roles
-                Set existingSet = room.getSet();
-                RoleCard extraRolesCard = null;
-                if (existingSet != null) {
-                    extraRolesCard = existingSet.getExtraRolesCard();
-                    shots = existingSet.getShotCounter();
-                }
-                
-                // Create a new set for this room with the card, preserving extra roles
-                Set set = new Set(card, shots, extraRolesCard != null ? extraRolesCard.getSceneRoles().size() : 0);
-                
-                // If we had extra roles, keep them
+            
+            // Once the deck runs out the remaining rooms stay empty for the day
+            RoleCard card = sceneDeck.draw(random);
+            if (card == null) {
+                sceneCards[i] = -1;
+                room.assignSet(null);
+                continue;
+            }
+            sceneCards[i] = sceneDeck.getDealtCardIndex(sceneDeck.getDealtCount() - 1);
+            
+            // Each room keeps the set it was built with, a deal only swaps the
+            // card and resets the takes and role state, so it allocates nothing
+            Set set = room.getSet();
+            if (set == null) {
+                // Only a restored snapshot leaves a film set room without a set
+                RoleCard extraRolesCard = extraRolesCards[i];
+                set = new Set(card, roomTakes[i], extraRolesCard != null ? extraRolesCard.getSceneRoles().size() : 0);
                 if (extraRolesCard != null) {
                     set.setExtraRolesCard(extraRolesCard);
                 }
-                
-                // Assign the set to the room
                 room.assignSet(set);
+            } else {
+                set.restoreScene(card, roomTakes[i]);
             }
+            set.restoreRoleState(true, 0);
+            scenesToday++;
         }
+        activeScenes = scenesToday;
     }
     
-    public void awardSceneBonusesToPlayers(Room room, Set set, Actor currentPlayer, String completedRole) {
-        int budget = 0;
-        if (set.getRoleCard() != null) {
-            budget = set.getRoleCard().getSceneBudget();
-        }
-        
-        int numStarringRoles = 0;
-        if (set.getRoleCard() != null) {
-            numStarringRoles = set.getRoleCard().getSceneRoles().size();
-        }
-        
-        System.out.println("Scene wrapped! Awarding bonuses to players on the set...");
-        boolean bonusAwarded = false;
-        
-        // First, award bonus to the current player who completed the scene
-        if (currentPlayer.getLocation().getCurrentRoom() == room && completedRole != null) {
-            boolean isExtraRole = set.isExtraRole(completedRole);
-            int roleRank = 0;
-            
-            RoleCard.Role roleObj = set.getRole(completedRole);
-            if (roleObj != null) {
-                roleRank = roleObj.getLevel();
-            }
-            
-            currentPlayer.getPoints().awardSceneBonus(budget, isExtraRole, roleRank, numStarringRoles);
-            System.out.println("Player " + currentPlayer.getPlayerID() + " got a scene bonus for role: " + completedRole);
-            bonusAwarded = true;
+    // Pays everyone working on a wrapped set from one roll and frees their roles
+    public void awardSceneBonusesToPlayers(Room room, Set set) {
+        say(Type.SCENE_WRAP, "Scene wrapped! Awarding bonuses to players on the set...");
+        sceneWrapPayout.pay(room, set, occupancy.getOccupants(room), random);
+
+        // Mark all roles as acted so players can't take them anymore,
+        // this is where every scene of the day wraps
+        if (set.isActive()) {
+            activeScenes--;
         }
-        
-        // Then check for other players with roles in the same room
-        for (Actor player : players) {
-            // Skip the current player who already got their bonus
-            if (player == currentPlayer) {
+        set.markAllRolesAsActed();
+    }
+    
+    // Sets dealt today that are still shooting, the day ends when none are left
+    public int getActiveSceneCount() {
+        return activeScenes;
+    }
+    
+    // Sets dealt today, wrapped ones included
+    public int getSceneCountToday() {
+        return scenesToday;
+    }
+    
+    // Recounts the scene counters from the rooms, used after restoring a snapshot
+    void recountScenes() {
+        scenesToday = 0;
+        activeScenes = 0;
+        for (Room room : roomOrder) {
+            Set set = room.getSet();
+            if (set == null || room instanceof Trailer || room instanceof CastingOffice) {
                 continue;
             }
-            
-            if (player.getLocation().getCurrentRoom() == room) {
-                String role = player.getCurrentRole();
-                
-                // Only award bonuses to players with roles
-                if (role != null) {
-                    boolean isExtraRole = set.isExtraRole(role);
-                    int roleRank = 0;
-                    
-                    RoleCard.Role roleObj = set.getRole(role);
-                    if (roleObj != null) {
-                        roleRank = roleObj.getLevel();
-                    }
-                    
-                    player.getPoints().awardSceneBonus(budget, isExtraRole, roleRank, numStarringRoles);
-                    System.out.println("Player " + player.getPlayerID() + " got a scene bonus for role: " + role);
-                    bonusAwarded = true;
-                }
+            scenesToday++;
+            if (set.isActive()) {
+                activeScenes++;
             }
         }
-        
-        // Mark all roles as acted so players can't take them anymore
-        set.markAllRolesAsActed();
-        
-        if (!bonusAwarded) {
-            System.out.println("No players received a scene bonus.");
+    }
+
+    // Position in getCards of the scene card dealt to a room, -1 for none
+    public int getSceneCardIndex(int roomIndex) {
+        return sceneCards[roomIndex];
+    }
+
+    // Used by GameSnapshot.restore when it puts a room's scene card back
+    void restoreSceneCardIndex(int roomIndex, int cardIndex) {
+        sceneCards[roomIndex] = cardIndex;
+    }
+
+    // The office upgrades are bought in, with this board's prices, null if the board has none
+    public CastingOffice getCastingOffice() {
+        return castingOffice;
+    }
+
+    public int getRoomCount() {
+        return roomOrder.length;
+    }
+    
+    public Room getRoomAt(int roomIndex) {
+        return roomOrder[roomIndex];
+    }
+    
+    // Stable index of a room on this board, -1 if the room is not on it
+    public int getRoomIndex(Room room) {
+        for (int i = 0; i < roomOrder.length; i++) {
+            if (roomOrder[i] == room) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Indices of the rooms next to a room, in the same order as
+     * Room.getAdjacentRooms (-1 for a neighbor missing from the board).
+     * The returned array is shared and must not be modified.
+     */
+    public int[] getAdjacentRoomIndices(int roomIndex) {
+        return graph.getNeighbors(roomIndex);
+    }
+    
+    // Number of moves between two rooms, BoardGraph.UNREACHABLE if there is no path
+    public int getDistance(int fromRoomIndex, int toRoomIndex) {
+        return graph.getDistance(fromRoomIndex, toRoomIndex);
+    }
+    
+    // First room to move to on a shortest path, -1 when already there or unreachable
+    public int getNextStep(int fromRoomIndex, int toRoomIndex) {
+        return graph.getNextStep(fromRoomIndex, toRoomIndex);
+    }
+    
+    /**
+     * Closest room (fewest moves) that matches, for example an active set
+     * with a role for some rank:
+     * room -> room.getSet() != null && room.getSet().hasOpenRole(rank)
+     * 
+     * @param fromRoomIndex Where to start, this room is checked first
+     * @return The index of the matching room, -1 if no reachable room matches
+     */
+    public int findNearestRoom(int fromRoomIndex, Predicate<Room> matches) {
+        for (int roomIndex : graph.getRoomsByDistance(fromRoomIndex)) {
+            if (matches.test(roomOrder[roomIndex])) {
+                return roomIndex;
+            }
         }
-}
+        return -1;
+    }
+    
+    // Room graph of this board, null if the board failed to load
+    public BoardGraph getBoardGraph() {
+        return graph;
+    }
+    
+    // Extra roles card the set in this room was created with, null for non-set rooms
+    public RoleCard getExtraRolesCard(int roomIndex) {
+        return extraRolesCards[roomIndex];
+    }
+    
+    // Players in a room in seat order, a live read-only view
+    public List<Actor> getOccupants(Room room) {
+        return occupancy.getOccupants(room);
+    }
+    
+    public RoomOccupancy getOccupancy() {
+        return occupancy;
+    }
+    
+    // This game's deck, the dealt cards and their deal order
+    public SceneDeck getSceneDeck() {
+        return sceneDeck;
+    }
+    
+    // Scene cards shared by every game, in cards.xml order
+    public List<RoleCard> getCards() {
+        return cards;
+    }
+    
+    TurnTracker getTurnTracker() {
+        return turnTracker;
+    }
+    
+    DayTracker getDayTracker() {
+        return dayTracker;
+    }
+    
     public List<String> getAllRoomNames() {
         return new ArrayList<>(rooms.keySet());
     }
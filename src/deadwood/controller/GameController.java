@@ -1,12 +1,17 @@
 package deadwood.controller;
 
 import java.util.ArrayList;
-import java.util.List;
-
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import deadwood.model.*;
+import deadwood.util.GameMessageSink;
 
 /**
  * The GameController class serves as the intermediary between the model and
@@ -15,17 +20,57 @@ import deadwood.model.*;
  * state.
  * It encapsulates all game logic that was previously contained in the view
  * classes.
+ *
+ * Every action (moving, taking or leaving a role, acting, rehearsing,
+ * upgrading, ending a turn) goes through the game's mailbox, so clients and
+ * bots on any thread can play the same game and its actions run one at a
+ * time. Observers are called on the thread that runs the action, which is
+ * not necessarily the thread that submitted it: a submitter that finds the
+ * mailbox idle also runs the actions other threads queued meanwhile, and
+ * their notifications. An observer that has to run on a particular thread
+ * must hand the callback over itself; the Swing views post theirs to the
+ * event dispatch thread with SwingUtilities.invokeLater.
+ *
+ * The queries (view models, legal actions, bot turns...) go through the
+ * mailbox as well, so they never see an action half done; called from an
+ * observer they run straight away. getSnapshot and isGameOver read the
+ * state published after the last action without waiting. getGameBoard is
+ * the only way around the mailbox and is for the writer alone.
  */
 public class GameController {
     private GameBoard gameBoard;
-    private List<GameObserver> observers;
+    private CopyOnWriteArrayList<GameObserver> observers;
+    private GameMailbox mailbox;
+    // State after the last action, replaced (never changed) by the writer
+    private volatile GameSnapshot snapshot;
+    // Set when the game ends, delivered after the ending turn's notifications
+    private GameOverEvent finalStandings;
+    private int maxActions;
+    private Map<Integer, MctsBot> bots;
 
     /**
      * Constructor initializes a new game controller with a game board
      */
     public GameController(int numPlayers) {
-        this.gameBoard = new GameBoard(numPlayers);
-        this.observers = new ArrayList<>();
+        this(new GameBoard(numPlayers));
+    }
+
+    /**
+     * Creates a controller for a seeded game that reports to the given sink,
+     * for hosts without a console such as GameServer
+     */
+    public GameController(int numPlayers, long seed, GameMessageSink messages) {
+        this(new GameBoard(numPlayers, seed, messages));
+    }
+
+    private GameController(GameBoard gameBoard) {
+        this.gameBoard = gameBoard;
+        this.observers = new CopyOnWriteArrayList<>();
+        this.mailbox = new GameMailbox();
+        this.snapshot = GameSnapshot.capture(gameBoard);
+        gameBoard.addGameOverListener(event -> finalStandings = event);
+        this.maxActions = LegalActions.maxActions(gameBoard);
+        this.bots = new ConcurrentHashMap<>();
     }
 
     /**
@@ -39,15 +84,20 @@ public class GameController {
         void onSceneChanged(SceneViewModel scene);
 
         void onBoardChanged();
+
+        /**
+         * Called once when the last day ends, after the final action's other
+         * notifications
+         */
+        default void onGameOver(GameOverEvent event) {
+        }
     }
 
     /**
      * Register a new observer to receive game state change notifications
      */
     public void registerObserver(GameObserver observer) {
-        if (!observers.contains(observer)) {
-            observers.add(observer);
-        }
+        observers.addIfAbsent(observer);
     }
 
     /**
@@ -57,6 +107,40 @@ public class GameController {
         observers.remove(observer);
     }
 
+    /**
+     * Runs an action on the game's writer without waiting for it, for
+     * example controller.submit(GameController::act). Actions from all
+     * threads run one at a time in the order they were submitted.
+     *
+     * @return Completes with the action's result once it and its observer
+     *         notifications are done
+     */
+    public <T> CompletableFuture<T> submit(Function<GameController, T> action) {
+        return mailbox.submit(() -> action.apply(this));
+    }
+
+    /**
+     * State of the game after the last action, safe to read from any thread
+     * without locking
+     */
+    public GameSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // Runs a query on the writer, so it sees the game between actions
+    private <T> T read(Supplier<T> query) {
+        return mailbox.call(query);
+    }
+
+    // Runs a change on the writer and publishes the state it leaves behind
+    private <T> T write(Supplier<T> change) {
+        return mailbox.call(() -> {
+            T result = change.get();
+            snapshot = GameSnapshot.capture(gameBoard);
+            return result;
+        });
+    }
+
     /**
      * Notify all registered observers of a game state change
      */
@@ -84,6 +168,15 @@ public class GameController {
         }
     }
 
+    /**
+     * Notify all registered observers that the game has ended
+     */
+    private void notifyGameOver(GameOverEvent event) {
+        for (GameObserver observer : observers) {
+            observer.onGameOver(event);
+        }
+    }
+
     /**
      * Notify all registered observers of a board change
      */
@@ -109,6 +202,8 @@ public class GameController {
         private boolean roleIsExtra;
         private String roleLine;
         private int roleRank;
+        private double actingChance;
+        private boolean rehearsalAdvised;
 
         // Getters
         public int getPlayerId() {
@@ -150,6 +245,16 @@ public class GameController {
         public int getRoleRank() {
             return roleRank;
         }
+
+        // Chance the next acting attempt succeeds, 0 without a role
+        public double getActingChance() {
+            return actingChance;
+        }
+
+        // True if rehearsing finishes the role in fewer expected turns than acting
+        public boolean isRehearsalAdvised() {
+            return rehearsalAdvised;
+        }
     }
 
     /**
@@ -295,6 +400,7 @@ public class GameController {
     public static class PlayerTokenViewModel {
         private int playerId;
         private String roomId;
+        private int slot;
         private String diceColor;
         private boolean isCurrentPlayer;
 
@@ -307,6 +413,11 @@ public class GameController {
             return roomId;
         }
 
+        // Position among the players in the same room, 0 for the lowest seat
+        public int getSlot() {
+            return slot;
+        }
+
         public String getDiceColor() {
             return diceColor;
         }
@@ -365,10 +476,41 @@ public class GameController {
         }
     }
 
+    /**
+     * ViewModel for how far the current day has come
+     */
+    public static class DayProgressViewModel {
+        private int currentDay;
+        private int maxDays;
+        private int scenesToday;
+        private int scenesWrapped;
+
+        // Getters
+        public int getCurrentDay() {
+            return currentDay;
+        }
+
+        public int getMaxDays() {
+            return maxDays;
+        }
+
+        public int getScenesToday() {
+            return scenesToday;
+        }
+
+        public int getScenesWrapped() {
+            return scenesWrapped;
+        }
+    }
+
     /**
      * Create a PlayerViewModel for the current player
      */
     public PlayerViewModel getCurrentPlayerViewModel() {
+        return read(this::buildCurrentPlayerViewModel);
+    }
+
+    private PlayerViewModel buildCurrentPlayerViewModel() {
         Actor currentPlayer = gameBoard.getCurrentPlayer();
         if (currentPlayer == null) {
             return null;
@@ -399,6 +541,15 @@ public class GameController {
                         viewModel.roleLine = role.getLine();
                         viewModel.roleRank = role.getLevel();
                     }
+
+                    // Odds for the act/rehearse hint
+                    if (currentSet.isActive() && currentSet.getRoleCard() != null) {
+                        int rehearsal = Math.min(viewModel.rehearsalBonus, ActingOdds.MAX_REHEARSAL);
+                        viewModel.actingChance = ActingOdds.successChance(
+                                ActingOdds.actingBudget(currentSet, viewModel.roleIsExtra), rehearsal);
+                        viewModel.rehearsalAdvised = LegalActions.hasAction(gameBoard, LegalActions.REHEARSE, new int[maxActions])
+                                && ActingOdds.recommend(currentSet, viewModel.roleIsExtra, rehearsal) == ActingOdds.REHEARSE;
+                    }
                 }
             }
         }
@@ -407,6 +558,10 @@ public class GameController {
     }
 
     public List<PlayerViewModel> getAllPlayersViewModels() {
+        return read(this::buildAllPlayersViewModels);
+    }
+
+    private List<PlayerViewModel> buildAllPlayersViewModels() {
         List<PlayerViewModel> playerViewModels = new ArrayList<>();
 
         // Get all players from the game board
@@ -453,6 +608,10 @@ public class GameController {
      * Create a SceneViewModel for the current scene
      */
     public SceneViewModel getCurrentSceneViewModel() {
+        return read(this::buildCurrentSceneViewModel);
+    }
+
+    private SceneViewModel buildCurrentSceneViewModel() {
         Actor currentPlayer = gameBoard.getCurrentPlayer();
         if (currentPlayer == null) {
             return null;
@@ -514,6 +673,10 @@ public class GameController {
      * Get a list of adjacent rooms for the current player
      */
     public List<String> getAdjacentRooms() {
+        return read(this::buildAdjacentRooms);
+    }
+
+    private List<String> buildAdjacentRooms() {
         Actor currentPlayer = gameBoard.getCurrentPlayer();
         if (currentPlayer == null) {
             return new ArrayList<>();
@@ -531,34 +694,44 @@ public class GameController {
      * Get a ViewModel for the game board
      */
     public BoardViewModel getBoardViewModel() {
+        return read(this::buildBoardViewModel);
+    }
+
+    private BoardViewModel buildBoardViewModel() {
         BoardViewModel viewModel = new BoardViewModel();
 
-        // Get all players
-        List<Actor> allPlayers = gameBoard.getAllPlayers();
         Actor currentPlayer = gameBoard.getCurrentPlayer();
         int currentPlayerId = currentPlayer.getPlayerID();
         viewModel.currentPlayerId = currentPlayerId;
 
-        // Create player tokens
+        // Create player tokens room by room, each token gets its place among
+        // the players in its room
         String[] diceColors = { "b", "c", "g", "o", "p", "r", "v", "w", "y" };
 
-        for (Actor player : allPlayers) {
-            PlayerTokenViewModel tokenVM = new PlayerTokenViewModel();
-            tokenVM.playerId = player.getPlayerID();
-
-            Room playerRoom = player.getLocation().getCurrentRoom();
-            if (playerRoom != null) {
-                tokenVM.roomId = playerRoom.getRoomID().toLowerCase();
+        for (int roomIndex = 0; roomIndex < gameBoard.getRoomCount(); roomIndex++) {
+            Room room = gameBoard.getRoomAt(roomIndex);
+            List<Actor> occupants = gameBoard.getOccupants(room);
+            if (occupants.isEmpty()) {
+                continue;
             }
+            String roomId = room.getRoomID().toLowerCase();
+
+            for (int slot = 0; slot < occupants.size(); slot++) {
+                Actor player = occupants.get(slot);
+                PlayerTokenViewModel tokenVM = new PlayerTokenViewModel();
+                tokenVM.playerId = player.getPlayerID();
+                tokenVM.roomId = roomId;
+                tokenVM.slot = slot;
 
-            // Assign dice color
-            int colorIndex = (player.getPlayerID() - 1) % diceColors.length;
-            tokenVM.diceColor = diceColors[colorIndex];
+                // Assign dice color
+                int colorIndex = (player.getPlayerID() - 1) % diceColors.length;
+                tokenVM.diceColor = diceColors[colorIndex];
 
-            // Check if current player
-            tokenVM.isCurrentPlayer = (player.getPlayerID() == currentPlayerId);
+                // Check if current player
+                tokenVM.isCurrentPlayer = (player.getPlayerID() == currentPlayerId);
 
-            viewModel.playerTokens.add(tokenVM);
+                viewModel.playerTokens.add(tokenVM);
+            }
         }
 
         // Create shot counters for scene rooms
@@ -586,11 +759,32 @@ public class GameController {
         return viewModel;
     }
 
+    /**
+     * Get a ViewModel for the progress of the current day, the day ends once
+     * every scene dealt today has wrapped
+     */
+    public DayProgressViewModel getDayProgressViewModel() {
+        return read(this::buildDayProgressViewModel);
+    }
+
+    private DayProgressViewModel buildDayProgressViewModel() {
+        DayProgressViewModel viewModel = new DayProgressViewModel();
+        viewModel.currentDay = gameBoard.getCurrentDay();
+        viewModel.maxDays = gameBoard.getMaxDays();
+        viewModel.scenesToday = gameBoard.getSceneCountToday();
+        viewModel.scenesWrapped = gameBoard.getSceneCountToday() - gameBoard.getActiveSceneCount();
+        return viewModel;
+    }
+
     /**
      * Move the current player to a new room
      * Only allows movement if player has no role or has a completed role
      */
     public boolean movePlayer(String destinationRoom) {
+        return write(() -> applyMove(destinationRoom));
+    }
+
+    private boolean applyMove(String destinationRoom) {
         Actor currentPlayer = gameBoard.getCurrentPlayer();
         if (currentPlayer == null) {
             return false;
@@ -603,7 +797,7 @@ public class GameController {
 
         // Check if player has an incomplete role - can't move
         if (currentPlayer.getCurrentRole() != null && !currentPlayer.isCurrentRoleCompleted()) {
-            System.out.println("You cannot move while working on an incomplete role. You must act or rehearse.");
+            warn("You cannot move while working on an incomplete role. You must act or rehearse.");
             return false;
         }
 
@@ -623,7 +817,7 @@ public class GameController {
 
         if (success) {
             notifyObservers();
-            notifyPlayerChanged(getCurrentPlayerViewModel());
+            notifyPlayerChanged(buildCurrentPlayerViewModel());
             notifyBoardChanged();
         }
 
@@ -635,6 +829,10 @@ public class GameController {
      * Only allows taking a role if player has no role or has a completed role
      */
     public boolean takeRole(String roleName) {
+        return write(() -> applyTakeRole(roleName));
+    }
+
+    private boolean applyTakeRole(String roleName) {
         Actor currentPlayer = gameBoard.getCurrentPlayer();
         if (currentPlayer == null) {
             return false;
@@ -642,7 +840,7 @@ public class GameController {
 
         // Check if player has an incomplete role
         if (currentPlayer.getCurrentRole() != null && !currentPlayer.isCurrentRoleCompleted()) {
-            System.out.println(
+            warn(
                     "You cannot take a new role while working on an incomplete role. You must act or rehearse.");
             return false;
         }
@@ -650,19 +848,19 @@ public class GameController {
         // Get the current room and set
         Room currentRoom = currentPlayer.getLocation().getCurrentRoom();
         if (currentRoom == null) {
-            System.out.println("Error: Player is not in a valid room.");
+            error("Error: Player is not in a valid room.");
             return false;
         }
 
         Set currentSet = currentRoom.getSet();
         if (currentSet == null || !currentSet.isActive()) {
-            System.out.println("There is no active set in this room.");
+            warn("There is no active set in this room.");
             return false;
         }
 
         // Check if this role has already been acted
         if (currentSet.hasRoleBeenActed(roleName)) {
-            System.out.println("This role has already been completed and cannot be taken.");
+            warn("This role has already been completed and cannot be taken.");
             return false;
         }
 
@@ -675,8 +873,8 @@ public class GameController {
 
         if (success) {
             notifyObservers();
-            notifyPlayerChanged(getCurrentPlayerViewModel());
-            notifySceneChanged(getCurrentSceneViewModel());
+            notifyPlayerChanged(buildCurrentPlayerViewModel());
+            notifySceneChanged(buildCurrentSceneViewModel());
         }
 
         return success;
@@ -686,6 +884,10 @@ public class GameController {
      * Have the current player abandon their role
      */
     public boolean abandonRole() {
+        return write(() -> applyAbandonRole());
+    }
+
+    private boolean applyAbandonRole() {
         Actor currentPlayer = gameBoard.getCurrentPlayer();
         if (currentPlayer == null) {
             return false;
@@ -700,8 +902,8 @@ public class GameController {
 
         if (success) {
             notifyObservers();
-            notifyPlayerChanged(getCurrentPlayerViewModel());
-            notifySceneChanged(getCurrentSceneViewModel());
+            notifyPlayerChanged(buildCurrentPlayerViewModel());
+            notifySceneChanged(buildCurrentSceneViewModel());
         }
 
         return success;
@@ -711,6 +913,10 @@ public class GameController {
      * Have the current player act in their role
      */
     public boolean act() {
+        return write(() -> applyAct());
+    }
+
+    private boolean applyAct() {
         Actor currentPlayer = gameBoard.getCurrentPlayer();
         if (currentPlayer == null) {
             return false;
@@ -718,7 +924,7 @@ public class GameController {
 
         // Check if player has a role
         if (currentPlayer.getCurrentRole() == null) {
-            System.out.println("You don't have a role to act in.");
+            warn("You don't have a role to act in.");
             return false;
         }
 
@@ -727,8 +933,8 @@ public class GameController {
 
         // Always notify observers, regardless of success/failure
         notifyObservers();
-        notifyPlayerChanged(getCurrentPlayerViewModel());
-        notifySceneChanged(getCurrentSceneViewModel());
+        notifyPlayerChanged(buildCurrentPlayerViewModel());
+        notifySceneChanged(buildCurrentSceneViewModel());
         notifyBoardChanged();
 
         // Return success status without ending turn on failure
@@ -739,6 +945,10 @@ public class GameController {
      * Have the current player rehearse for their role
      */
     public boolean rehearse() {
+        return write(() -> applyRehearse());
+    }
+
+    private boolean applyRehearse() {
         Actor currentPlayer = gameBoard.getCurrentPlayer();
         if (currentPlayer == null) {
             return false;
@@ -746,7 +956,7 @@ public class GameController {
 
         // Check if player has a role
         if (currentPlayer.getCurrentRole() == null) {
-            System.out.println("You don't have a role to rehearse for.");
+            warn("You don't have a role to rehearse for.");
             return false;
         }
 
@@ -755,7 +965,7 @@ public class GameController {
 
         // Always notify observers of any state changes, regardless of success/failure
         notifyObservers();
-        notifyPlayerChanged(getCurrentPlayerViewModel());
+        notifyPlayerChanged(buildCurrentPlayerViewModel());
 
         // Return success status without ending turn on failure
         return success;
@@ -765,6 +975,10 @@ public class GameController {
      * Upgrade the current player's rank
      */
     public boolean upgradeRank(int targetRank, String paymentType) {
+        return write(() -> applyUpgrade(targetRank, paymentType));
+    }
+
+    private boolean applyUpgrade(int targetRank, String paymentType) {
         Actor currentPlayer = gameBoard.getCurrentPlayer();
         if (currentPlayer == null) {
             return false;
@@ -773,13 +987,13 @@ public class GameController {
         // Check if in casting office
         Room currentRoom = currentPlayer.getLocation().getCurrentRoom();
         if (!(currentRoom instanceof CastingOffice)) {
-            System.out.println("You must be in the Casting Office to upgrade.");
+            warn("You must be in the Casting Office to upgrade.");
             return false;
         }
 
         // Validate payment type before calling actor method
         if (paymentType == null || (!paymentType.equalsIgnoreCase("cash") && !paymentType.equalsIgnoreCase("credit"))) {
-            System.out.println("Invalid payment type. Use 'cash' or 'credit'.");
+            warn("Invalid payment type. Use 'cash' or 'credit'.");
             return false;
         }
 
@@ -788,26 +1002,72 @@ public class GameController {
 
         // Always notify observers of any state changes, regardless of success/failure
         notifyObservers();
-        notifyPlayerChanged(getCurrentPlayerViewModel());
+        notifyPlayerChanged(buildCurrentPlayerViewModel());
 
         // Return success status without ending turn on failure
         return success;
     }
 
+    /**
+     * Where the game's messages go, for views that report their own warnings
+     */
+    public GameMessageSink getMessageSink() {
+        return gameBoard.getMessageSink();
+    }
+
+    private void warn(String text) {
+        gameBoard.getMessageSink().message(GameMessageSink.Type.WARNING, currentPlayerID(), text);
+    }
+
+    private void error(String text) {
+        gameBoard.getMessageSink().message(GameMessageSink.Type.ERROR, currentPlayerID(), text);
+    }
+
+    private int currentPlayerID() {
+        Actor player = gameBoard.getCurrentPlayer();
+        return player != null ? player.getPlayerID() : GameMessageSink.NO_PLAYER;
+    }
+
     /**
      * End the current player's turn
      */
     public void endTurn() {
+        write(() -> {
+            applyEndTurn();
+            return null;
+        });
+    }
+
+    private void applyEndTurn() {
         gameBoard.endTurn();
+
         notifyObservers();
-        notifyPlayerChanged(getCurrentPlayerViewModel());
+        notifyPlayerChanged(buildCurrentPlayerViewModel());
         notifyBoardChanged();
+
+        if (finalStandings != null) {
+            GameOverEvent event = finalStandings;
+            finalStandings = null;
+            notifyGameOver(event);
+        }
+    }
+
+    /**
+     * Check if the last day is over, final scores have been reported by then
+     */
+    public boolean isGameOver() {
+        // The writer is ahead of the published snapshot
+        return mailbox.isWriter() ? gameBoard.isGameOver() : snapshot.isGameOver();
     }
 
     /**
      * Get upgrade options for the casting office
      */
     public List<UpgradeViewModel> getUpgradeOptions() {
+        return read(this::buildUpgradeOptions);
+    }
+
+    private List<UpgradeViewModel> buildUpgradeOptions() {
         List<UpgradeViewModel> options = new ArrayList<>();
 
         Actor currentPlayer = gameBoard.getCurrentPlayer();
@@ -867,30 +1127,91 @@ public class GameController {
      * Check if the current player can take roles in the current location
      */
     public boolean canTakeRoles() {
-        Actor currentPlayer = gameBoard.getCurrentPlayer();
-        if (currentPlayer == null || currentPlayer.getCurrentRole() != null) {
-            return false;
-        }
+        return read(() -> LegalActions.hasAction(gameBoard, LegalActions.WORK, new int[maxActions]));
+    }
 
-        Room currentRoom = currentPlayer.getLocation().getCurrentRoom();
-        if (currentRoom == null) {
-            return false;
-        }
+    /**
+     * Write every legal action of the current player into out, encoded as
+     * described in LegalActions
+     *
+     * @return Number of actions written
+     */
+    public int getLegalActions(int[] out) {
+        return read(() -> LegalActions.generate(gameBoard, out));
+    }
 
-        Set currentSet = currentRoom.getSet();
-        if (currentSet == null || !currentSet.isActive()) {
-            return false;
-        }
+    /**
+     * Size of the buffer getLegalActions needs
+     */
+    public int getMaxLegalActions() {
+        return maxActions;
+    }
+
+    /**
+     * Let a computer player take the turns of the given player
+     */
+    public void setBot(int playerID, MctsBot bot) {
+        bots.put(playerID, bot);
+    }
+
+    /**
+     * Check if the current player is controlled by a bot
+     */
+    public boolean isBotTurn() {
+        return read(() -> {
+            Actor currentPlayer = gameBoard.getCurrentPlayer();
+            return currentPlayer != null && !gameBoard.isGameOver() && bots.containsKey(currentPlayer.getPlayerID());
+        });
+    }
+
+    /**
+     * Start the current bot's search on its own threads, the returned future
+     * completes with the action to pass to playAction
+     */
+    public CompletableFuture<Integer> requestBotAction() {
+        return mailbox.call(() -> {
+            MctsBot bot = bots.get(gameBoard.getCurrentPlayer().getPlayerID());
+            if (bot == null) {
+                throw new IllegalStateException("Current player is not a bot");
+            }
+            return bot.chooseActionAsync(gameBoard);
+        });
+    }
 
-        // Check if there are roles available for the player's rank
-        List<RoleCard.Role> availableRoles = currentPlayer.getAvailableRoles();
-        return availableRoles != null && !availableRoles.isEmpty();
+    /**
+     * Human readable form of an encoded action, e.g. "move Jail"
+     */
+    public String describeAction(int action) {
+        return read(() -> LegalActions.describe(gameBoard, action));
+    }
+
+    /**
+     * Perform an encoded action for the current player and end their turn
+     */
+    public boolean playAction(int action) {
+        return write(() -> applyAction(action));
+    }
+
+    private boolean applyAction(int action) {
+        boolean success = LegalActions.apply(gameBoard, action);
+
+        notifyObservers();
+        notifyPlayerChanged(buildCurrentPlayerViewModel());
+        notifySceneChanged(buildCurrentSceneViewModel());
+        notifyBoardChanged();
+
+        applyEndTurn();
+        return success;
     }
 
     /**
      * Get available roles for the current player at their current location
      */
     public List<RoleViewModel> getAvailableRoles() {
+        return read(this::buildAvailableRoles);
+    }
+
+    private List<RoleViewModel> buildAvailableRoles() {
         List<RoleViewModel> availableRoles = new ArrayList<>();
 
         Actor currentPlayer = gameBoard.getCurrentPlayer();
@@ -929,7 +1250,9 @@ public class GameController {
     }
 
     /**
-     * Get the GameBoard for methods that still need direct access
+     * Get the GameBoard for methods that still need direct access. The board
+     * is not thread safe: use it from an observer callback, an action passed
+     * to submit, or a thread that is the game's only user.
      */
     public GameBoard getGameBoard() {
         return gameBoard;
@@ -0,0 +1,296 @@
+package deadwood.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import deadwood.model.ActingOdds;
+import deadwood.model.Actor;
+import deadwood.model.CastingOffice;
+import deadwood.model.RoleCard;
+import deadwood.model.Room;
+import deadwood.model.Set;
+import deadwood.util.GameMessageSink;
+
+/**
+ * Headless driver that plays a complete game with computer controlled turns.
+ * Games report to GameMessageSink.NONE, so no message is ever built, and the
+ * JVM is never exited, the final scores are handed back as a GameResult instead.
+ */
+public class GameEngine {
+    // Safety net for games where nobody can finish the remaining scenes
+    private static final int DEFAULT_TURN_LIMIT = 5000;
+
+    private int numPlayers;
+    private int turnLimit;
+
+    public GameEngine(int numPlayers) {
+        this(numPlayers, DEFAULT_TURN_LIMIT);
+    }
+
+    public GameEngine(int numPlayers, int turnLimit) {
+        if (numPlayers < 2 || numPlayers > 8) {
+            throw new IllegalArgumentException("Game requires 2-8 players");
+        }
+        if (turnLimit < 1) {
+            throw new IllegalArgumentException("Turn limit must be positive");
+        }
+        this.numPlayers = numPlayers;
+        this.turnLimit = turnLimit;
+    }
+
+    /**
+     * Final scores of a finished headless game
+     */
+    public static class GameResult {
+        private long seed;
+        private int[] playerIDs;
+        private int[] scores;
+        private int turnsPlayed;
+        private int daysPlayed;
+        private boolean completed;
+
+        GameResult(long seed, int[] playerIDs, int[] scores, int turnsPlayed, int daysPlayed, boolean completed) {
+            this.seed = seed;
+            this.playerIDs = playerIDs;
+            this.scores = scores;
+            this.turnsPlayed = turnsPlayed;
+            this.daysPlayed = daysPlayed;
+            this.completed = completed;
+        }
+
+        // Seed that replays this game through GameEngine.playGame(long)
+        public long getSeed() {
+            return seed;
+        }
+
+        public int getPlayerCount() {
+            return playerIDs.length;
+        }
+
+        public int getPlayerID(int index) {
+            return playerIDs[index];
+        }
+
+        // Score of the player in seat index (0 based, same order as GameBoard.getAllPlayers)
+        public int getScore(int index) {
+            return scores[index];
+        }
+
+        public int[] getScores() {
+            return scores.clone();
+        }
+
+        // Player ID with the highest score, ties go to the earlier seat
+        public int getWinnerID() {
+            int best = 0;
+            for (int i = 1; i < scores.length; i++) {
+                if (scores[i] > scores[best]) {
+                    best = i;
+                }
+            }
+            return playerIDs[best];
+        }
+
+        public int getTurnsPlayed() {
+            return turnsPlayed;
+        }
+
+        public int getDaysPlayed() {
+            return daysPlayed;
+        }
+
+        // False if the turn limit was hit before the last day ended
+        public boolean isCompleted() {
+            return completed;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("Game ").append(completed ? "completed" : "stopped").append(" after ");
+            sb.append(turnsPlayed).append(" turns:");
+            for (int i = 0; i < scores.length; i++) {
+                sb.append(" Player ").append(playerIDs[i]).append("=").append(scores[i]);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Plays one full game from setup to final scores with a fresh seed
+     *
+     * @return The final scores of every player
+     */
+    public GameResult playGame() {
+        return playGame(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Plays one full game from setup to final scores. Dice, card shuffles and
+     * the turn policy all draw from the game's own random source, so the same
+     * seed always produces the same game.
+     *
+     * @param seed Seed for the game's random source
+     * @return The final scores of every player
+     */
+    public GameResult playGame(long seed) {
+        GameBoard gameBoard = new GameBoard(numPlayers, seed, GameMessageSink.NONE);
+
+        int turns = 0;
+        while (!gameBoard.isGameOver() && turns < turnLimit) {
+            playTurn(gameBoard.getCurrentPlayer(), gameBoard);
+            gameBoard.endTurn();
+            turns++;
+        }
+
+        return buildResult(gameBoard, turns);
+    }
+
+    private GameResult buildResult(GameBoard gameBoard, int turns) {
+        List<Actor> players = gameBoard.getAllPlayers();
+        int[] playerIDs = new int[players.size()];
+        int[] scores = new int[players.size()];
+
+        for (int i = 0; i < players.size(); i++) {
+            Actor player = players.get(i);
+            playerIDs[i] = player.getPlayerID();
+            scores[i] = player.getPoints().calcTotalPoints(player.getCurrentRank());
+        }
+
+        // The day counter moves past the last day when the game ends
+        boolean completed = gameBoard.isGameOver();
+        int daysPlayed = completed ? gameBoard.getCurrentDay() - 1 : gameBoard.getCurrentDay();
+
+        return new GameResult(gameBoard.getSeed(), playerIDs, scores, turns, daysPlayed, completed);
+    }
+
+    /**
+     * Greedy turn policy: work the current role, otherwise take the best role
+     * here, upgrade when standing in the Casting Office, or move towards work.
+     */
+    private void playTurn(Actor player, GameBoard gameBoard) {
+        Room currentRoom = player.getLocation().getCurrentRoom();
+        if (currentRoom == null) {
+            return;
+        }
+
+        if (player.getCurrentRole() != null && !player.isCurrentRoleCompleted()) {
+            Set currentSet = currentRoom.getSet();
+
+            // Role on a scene that already wrapped, wait for the new day
+            if (currentSet == null || !currentSet.isActive()) {
+                return;
+            }
+
+            if (shouldRehearse(player, currentSet)) {
+                player.inputRehearse();
+            } else {
+                player.inputAttemptScene(gameBoard);
+            }
+            return;
+        }
+
+        int bestRole = pickRole(player, currentRoom.getSet());
+        if (bestRole >= 0) {
+            player.abandonRole();
+            player.inputRole(bestRole);
+            return;
+        }
+
+        if (currentRoom instanceof CastingOffice && tryUpgrade(player, (CastingOffice) currentRoom)) {
+            return;
+        }
+
+        String destination = pickDestination(player, currentRoom, gameBoard);
+        if (destination != null) {
+            player.inputMove(destination, gameBoard);
+        }
+    }
+
+    // Rehearse when that finishes the role in fewer expected turns than acting
+    private boolean shouldRehearse(Actor player, Set currentSet) {
+        return ActingOdds.recommend(currentSet, player.isExtraRole(), player.getPoints().getRehearsalBonus()) == ActingOdds.REHEARSE;
+    }
+
+    // Index of the highest ranked starring role, otherwise the highest ranked
+    // extra role, -1 if the player cannot take any role here
+    private int pickRole(Actor player, Set currentSet) {
+        if (currentSet == null || !currentSet.isActive()) {
+            return -1;
+        }
+
+        int best = -1;
+        boolean bestIsExtra = true;
+        for (int i = 0; i < currentSet.getRoleCount(); i++) {
+            RoleCard.Role role = currentSet.getRoleAt(i);
+            if (!isOpenFor(player, currentSet, i)) {
+                continue;
+            }
+            boolean isExtra = currentSet.isExtraRole(i);
+            if (best < 0 || (bestIsExtra && !isExtra)
+                    || (bestIsExtra == isExtra && role.getLevel() > currentSet.getRoleAt(best).getLevel())) {
+                best = i;
+                bestIsExtra = isExtra;
+            }
+        }
+        return best;
+    }
+
+    // Buys the highest rank affordable with either currency
+    private boolean tryUpgrade(Actor player, CastingOffice office) {
+        if (player.getCurrentRole() != null) {
+            return false;
+        }
+
+        for (int targetRank = 6; targetRank > player.getCurrentRank(); targetRank--) {
+            if (office.validateUpgrade(player.getCurrentRank(), targetRank, "cash", player.getPoints())) {
+                return player.inputUpgrade(targetRank, "cash");
+            }
+            if (office.validateUpgrade(player.getCurrentRank(), targetRank, "credit", player.getPoints())) {
+                return player.inputUpgrade(targetRank, "credit");
+            }
+        }
+        return false;
+    }
+
+    // Heads for the nearest room with a role this player can take, then for
+    // the Casting Office when an upgrade is affordable, otherwise wanders
+    private String pickDestination(Actor player, Room currentRoom, GameBoard gameBoard) {
+        List<String> neighbors = currentRoom.getAdjacentRooms();
+        if (neighbors.isEmpty()) {
+            return null;
+        }
+
+        int from = gameBoard.getRoomIndex(currentRoom);
+        int rank = player.getCurrentRank();
+        int target = gameBoard.findNearestRoom(from,
+            room -> room.getSet() != null && room.getSet().hasOpenRole(rank));
+        if (target < 0 && canAffordUpgrade(player, gameBoard.getCastingOffice())) {
+            target = gameBoard.findNearestRoom(from, room -> room instanceof CastingOffice);
+        }
+
+        int step = target >= 0 ? gameBoard.getNextStep(from, target) : -1;
+        if (step >= 0) {
+            return gameBoard.getBoardGraph().getRoomKey(step);
+        }
+        return neighbors.get(gameBoard.getRandom().nextInt(neighbors.size()));
+    }
+
+    // Cheapest next rank, checked against the board's own Casting Office prices
+    private boolean canAffordUpgrade(Actor player, CastingOffice office) {
+        int rank = player.getCurrentRank();
+        if (office == null || rank >= 6) {
+            return false;
+        }
+        return office.validateUpgrade(rank, rank + 1, "cash", player.getPoints())
+            || office.validateUpgrade(rank, rank + 1, "credit", player.getPoints());
+    }
+
+    // Role is within the player's rank, free and not acted yet
+    private static boolean isOpenFor(Actor player, Set set, int roleIndex) {
+        return set.getRoleAt(roleIndex).getLevel() <= player.getCurrentRank()
+            && !set.isRoleTaken(roleIndex)
+            && !set.hasRoleBeenActed(roleIndex);
+    }
+}
@@ -0,0 +1,105 @@
+package deadwood.controller;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Single writer for one game. Work submitted from any thread is queued and
+ * run one task at a time, in submission order, so the game is only ever
+ * changed by one thread at a time.
+ *
+ * The mailbox has no thread of its own: a submitter that finds it idle
+ * runs the queue itself, including work other threads add meanwhile. A
+ * game therefore costs nothing while nobody plays it, and games never
+ * share a queue or a lock, so busy games cannot slow each other down.
+ * Work submitted by a task that is already running on the writer runs
+ * straight away instead of queueing behind itself.
+ *
+ * The price is latency: any call, submit included, can make the caller
+ * run the backlog of every other thread, so how long it takes depends on
+ * how much work the others queued, not just on its own task. A thread
+ * that has to stay responsive, such as the Swing event thread, should be
+ * the only one driving its game, or leave the game to other threads and
+ * only read the snapshot the controller publishes.
+ */
+final class GameMailbox {
+    private final ConcurrentLinkedQueue<Runnable> queue;
+    private final AtomicBoolean running;
+    // Thread currently running the queue, null while idle
+    private volatile Thread writer;
+
+    GameMailbox() {
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.running = new AtomicBoolean();
+    }
+
+    /**
+     * Queues a task without waiting for it. The calling thread may end up
+     * running it, and other queued tasks, before this returns.
+     *
+     * @return Completes with the task's result once it has run
+     */
+    <T> CompletableFuture<T> submit(Supplier<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (Thread.currentThread() == writer) {
+            complete(result, task);
+            return result;
+        }
+
+        queue.add(() -> complete(result, task));
+        drain();
+        return result;
+    }
+
+    /**
+     * Runs a task on the writer and waits for its result
+     */
+    <T> T call(Supplier<T> task) {
+        try {
+            return submit(task).join();
+        } catch (CompletionException e) {
+            // Report the task's own exception, not the wrapper
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // Whether the calling thread is the writer, i.e. runs inside a task
+    boolean isWriter() {
+        return Thread.currentThread() == writer;
+    }
+
+    private static <T> void complete(CompletableFuture<T> result, Supplier<T> task) {
+        try {
+            result.complete(task.get());
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    // Runs queued tasks unless another thread already does. The queue is
+    // checked again after letting go, so a task added while the last
+    // writer was finishing up is never left behind.
+    private void drain() {
+        while (!queue.isEmpty() && running.compareAndSet(false, true)) {
+            writer = Thread.currentThread();
+            try {
+                Runnable task;
+                while ((task = queue.poll()) != null) {
+                    task.run();
+                }
+            } finally {
+                writer = null;
+                running.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package deadwood.controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import deadwood.model.Actor;
+import deadwood.model.PointTracker;
+
+/**
+ * Final standings of a finished game, handed to GameController observers
+ * and GameBoard game over listeners instead of ending the process. The
+ * event is immutable and keeps no reference to the game.
+ */
+public final class GameOverEvent {
+    // Points per rank in the final score
+    public static final int POINTS_PER_RANK = 5;
+
+    private final long seed;
+    private final int daysPlayed;
+    private final List<FinalScore> standings;
+
+    /**
+     * One player's final score and what it is made of
+     */
+    public static final class FinalScore {
+        private final int playerID;
+        private final int seat;
+        private final int place;
+        private final int cash;
+        private final int credits;
+        private final int rank;
+
+        FinalScore(int playerID, int seat, int place, int cash, int credits, int rank) {
+            this.playerID = playerID;
+            this.seat = seat;
+            this.place = place;
+            this.cash = cash;
+            this.credits = credits;
+            this.rank = rank;
+        }
+
+        public int getPlayerID() {
+            return playerID;
+        }
+
+        // Position in GameBoard.getAllPlayers, 0 based
+        public int getSeat() {
+            return seat;
+        }
+
+        // 1 for the winner, tied players share a place
+        public int getPlace() {
+            return place;
+        }
+
+        public int getCash() {
+            return cash;
+        }
+
+        public int getCredits() {
+            return credits;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        public int getRankPoints() {
+            return rank * POINTS_PER_RANK;
+        }
+
+        public int getTotal() {
+            return cash + credits + getRankPoints();
+        }
+
+        @Override
+        public String toString() {
+            return place + ". Player " + playerID + ": " + getTotal() + " ($" + cash + ", "
+                + credits + " credits, rank " + rank + " = " + getRankPoints() + ")";
+        }
+    }
+
+    private GameOverEvent(long seed, int daysPlayed, List<FinalScore> standings) {
+        this.seed = seed;
+        this.daysPlayed = daysPlayed;
+        this.standings = standings;
+    }
+
+    /**
+     * Scores every player of a game, best first. Ties keep seat order.
+     */
+    static GameOverEvent of(GameBoard gameBoard) {
+        List<Actor> players = gameBoard.getAllPlayers();
+        int[] totals = new int[players.size()];
+        Integer[] order = new Integer[players.size()];
+        for (int seat = 0; seat < players.size(); seat++) {
+            Actor player = players.get(seat);
+            totals[seat] = player.getPoints().calcTotalPoints(player.getCurrentRank());
+            order[seat] = seat;
+        }
+        // Stable, so tied players stay in seat order
+        Arrays.sort(order, (a, b) -> Integer.compare(totals[b], totals[a]));
+
+        List<FinalScore> standings = new ArrayList<>(players.size());
+        int place = 0;
+        for (int i = 0; i < order.length; i++) {
+            int seat = order[i];
+            if (i == 0 || totals[seat] != totals[order[i - 1]]) {
+                place = i + 1;
+            }
+            Actor player = players.get(seat);
+            PointTracker points = player.getPoints();
+            standings.add(new FinalScore(player.getPlayerID(), seat, place,
+                points.getPlayerCash(), points.getPlayerCredit(), player.getCurrentRank()));
+        }
+
+        // The day counter moves past the last day when the game ends
+        int daysPlayed = Math.max(1, gameBoard.getCurrentDay() - 1);
+        return new GameOverEvent(gameBoard.getSeed(), daysPlayed, Collections.unmodifiableList(standings));
+    }
+
+    // Seed the finished game rolled its dice and dealt its scenes with
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getDaysPlayed() {
+        return daysPlayed;
+    }
+
+    // Every player best first, the list cannot be modified
+    public List<FinalScore> getStandings() {
+        return standings;
+    }
+
+    // First place, the earliest seat among tied winners
+    public FinalScore getWinner() {
+        return standings.get(0);
+    }
+
+    // Score of the player in a seat, 0 based like GameBoard.getAllPlayers
+    public FinalScore getScoreForSeat(int seat) {
+        for (FinalScore score : standings) {
+            if (score.seat == seat) {
+                return score;
+            }
+        }
+        throw new IllegalArgumentException("No player in seat " + seat);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Final standings after ").append(daysPlayed)
+            .append(daysPlayed == 1 ? " day:" : " days:");
+        for (FinalScore score : standings) {
+            sb.append('\n').append(score);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,415 @@
+package deadwood.controller;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import deadwood.model.Actor;
+import deadwood.model.Room;
+import deadwood.util.GameMessageSink;
+import deadwood.util.StructuredMessageSink;
+
+/**
+ * Hosts games for clients on the local machine over a line based TCP
+ * protocol. Every connection is a table with its own GameController and
+ * runs on its own virtual thread, so thousands of tables cost a few
+ * kilobytes each and no table ever waits for another.
+ *
+ * A client plays every seat of its table and sends the same verbs as the
+ * text interface, one command per line:
+ *
+ *   move <room>, work <role>, act, rehearse, upgrade <rank> <cash/credit>, end
+ *     Plays for the current player. Like the text interface a successful
+ *     move, role, rehearsal or upgrade ends the turn, acting always does.
+ *     Reply: "OK <next player> <day>", "ERR <reason>" (the turn stays with
+ *     the same player) or "OVER <score> <score>..." once the game has ended.
+ *   who    Reply: "OK <player> <rank> <cash> <credits>"
+ *   where  Reply: "OK <room>|<neighbor>|<neighbor>..."
+ *   roles  Reply: "OK <role>|<role>..." for the roles the current player can take
+ *   new [seed]  Starts a new game at the same table, reply as for end
+ *   stats  Reply: "STATS" followed by server wide counters, see ServerStats
+ *   quit   Reply: "BYE", then the connection is closed
+ *
+ * The connection starts with "HELLO <table> <players>" and a new game.
+ */
+public class GameServer implements Closeable {
+    public static final int DEFAULT_PORT = 7777;
+
+    // Only warnings and errors are kept, they explain ERR replies
+    private static final EnumSet<GameMessageSink.Type> REASON_TYPES =
+        EnumSet.of(GameMessageSink.Type.WARNING, GameMessageSink.Type.ERROR);
+
+    private final int numPlayers;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+    private final ServerStats stats;
+
+    /**
+     * Opens the server socket on the loopback interface
+     *
+     * @param port Port to listen on, 0 picks a free one
+     */
+    public GameServer(int numPlayers, int port) throws IOException {
+        if (numPlayers < 2 || numPlayers > 8) {
+            throw new IllegalArgumentException("Game requires 2-8 players");
+        }
+        this.numPlayers = numPlayers;
+        this.serverSocket = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        this.connections = Executors.newVirtualThreadPerTaskExecutor();
+        this.stats = new ServerStats();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public ServerStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Accepts connections until the server is closed, each one is served on
+     * its own virtual thread
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (SocketException e) {
+                // Closed while waiting for a connection
+                return;
+            }
+            long tableID = stats.tablesOpened.incrementAndGet();
+            connections.execute(() -> serveTable(socket, tableID));
+        }
+    }
+
+    /**
+     * Stops accepting connections and closes the open ones
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    private void serveTable(Socket socket, long tableID) {
+        stats.openTables.increment();
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8))) {
+            socket.setTcpNoDelay(true);
+            Table table = new Table(new SplittableRandom().nextLong());
+            reply(out, "HELLO " + tableID + " " + numPlayers);
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                long start = System.nanoTime();
+                String response = table.handle(line.trim());
+                if (response == null) {
+                    reply(out, "BYE");
+                    return;
+                }
+                reply(out, response);
+                stats.recordCommand(System.nanoTime() - start);
+            }
+        } catch (IOException e) {
+            // Client went away, the table goes with it
+        } finally {
+            stats.openTables.decrement();
+        }
+    }
+
+    private static void reply(Writer out, String response) throws IOException {
+        out.write(response);
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * The game played over one connection, only ever touched by that
+     * connection's thread
+     */
+    private class Table {
+        private GameController controller;
+        private StructuredMessageSink reasons;
+
+        Table(long seed) {
+            newGame(seed);
+        }
+
+        private void newGame(long seed) {
+            reasons = new StructuredMessageSink(REASON_TYPES);
+            controller = new GameController(numPlayers, seed, reasons);
+            stats.gamesStarted.increment();
+        }
+
+        /**
+         * @return The reply, null when the client wants to leave
+         */
+        String handle(String input) {
+            int space = input.indexOf(' ');
+            String command = (space > 0 ? input.substring(0, space) : input).toLowerCase();
+            String argument = space > 0 ? input.substring(space + 1).trim() : "";
+            reasons.drain();
+
+            switch (command) {
+                case "quit":
+                    return null;
+                case "stats":
+                    return "STATS " + stats;
+                case "new":
+                    return startNewGame(argument);
+                default:
+                    break;
+            }
+
+            if (controller.isGameOver()) {
+                return gameOver();
+            }
+
+            Actor player = controller.getGameBoard().getCurrentPlayer();
+            switch (command) {
+                case "who":
+                    return "OK " + player.getPlayerID() + " " + player.getCurrentRank() + " "
+                        + player.getPoints().getPlayerCash() + " " + player.getPoints().getPlayerCredit();
+                case "where":
+                    return where(player);
+                case "roles":
+                    return roles();
+                case "move":
+                    return argument.isEmpty() ? "ERR Please specify a destination."
+                        : endTurnIf(controller.movePlayer(argument), "Move failed.");
+                case "work":
+                    return argument.isEmpty() ? "ERR Please specify a role."
+                        : endTurnIf(controller.takeRole(argument), "Could not take role " + argument + ".");
+                case "act":
+                    // Acting uses up the turn whether the roll succeeds or not
+                    if (player.getCurrentRole() == null) {
+                        return "ERR You don't have a role to act in.";
+                    }
+                    controller.act();
+                    return endTurnIf(true, null);
+                case "rehearse":
+                    return endTurnIf(controller.rehearse(), "Rehearsal failed.");
+                case "upgrade":
+                    return upgrade(argument);
+                case "end":
+                    return endTurnIf(true, null);
+                default:
+                    return "ERR Unknown command: " + command;
+            }
+        }
+
+        private String startNewGame(String argument) {
+            long seed;
+            try {
+                seed = argument.isEmpty() ? new SplittableRandom().nextLong() : Long.parseLong(argument);
+            } catch (NumberFormatException e) {
+                return "ERR Invalid seed: " + argument;
+            }
+            newGame(seed);
+            return turn();
+        }
+
+        private String upgrade(String argument) {
+            String[] parts = argument.split("\\s+");
+            if (parts.length < 2) {
+                return "ERR Please specify both rank and payment type.";
+            }
+            try {
+                int rank = Integer.parseInt(parts[0]);
+                return endTurnIf(controller.upgradeRank(rank, parts[1].toLowerCase()), "Upgrade failed.");
+            } catch (NumberFormatException e) {
+                return "ERR Invalid rank number.";
+            }
+        }
+
+        // Ends the turn after a successful action, counts it and reports where the game stands
+        private String endTurnIf(boolean success, String failure) {
+            if (!success) {
+                List<StructuredMessageSink.Message> messages = reasons.drain();
+                return "ERR " + (messages.isEmpty() ? failure : messages.get(messages.size() - 1).getText());
+            }
+            controller.endTurn();
+            stats.actions.increment();
+            if (controller.isGameOver()) {
+                stats.gamesFinished.increment();
+                return gameOver();
+            }
+            return turn();
+        }
+
+        private String turn() {
+            GameBoard gameBoard = controller.getGameBoard();
+            return "OK " + gameBoard.getCurrentPlayer().getPlayerID() + " " + gameBoard.getCurrentDay();
+        }
+
+        private String where(Actor player) {
+            Room room = player.getLocation().getCurrentRoom();
+            if (room == null) {
+                return "ERR Player is not in a valid room.";
+            }
+            StringBuilder sb = new StringBuilder("OK ").append(room.getRoomID());
+            for (String neighbor : room.getAdjacentRooms()) {
+                sb.append('|').append(neighbor);
+            }
+            return sb.toString();
+        }
+
+        private String roles() {
+            StringBuilder sb = new StringBuilder("OK ");
+            for (GameController.RoleViewModel role : controller.getAvailableRoles()) {
+                if (sb.length() > 3) {
+                    sb.append('|');
+                }
+                sb.append(role.getName());
+            }
+            return sb.toString();
+        }
+
+        // Final scores in seat order
+        private String gameOver() {
+            GameOverEvent event = controller.getGameBoard().getGameOverEvent();
+            StringBuilder sb = new StringBuilder("OVER");
+            for (int seat = 0; seat < numPlayers; seat++) {
+                sb.append(' ').append(event.getScoreForSeat(seat).getTotal());
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Server wide counters and a latency histogram of command handling time.
+     * Every table updates them from its own thread, so they only use adders
+     * and atomic buckets, never a lock.
+     */
+    public static class ServerStats {
+        // Every power of two range of nanoseconds is split into this many buckets,
+        // so a percentile is reported at most 1/16 (about 6%) too low
+        private static final int SUB_BUCKET_BITS = 4;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final long startNanos;
+        private final AtomicLong tablesOpened;
+        private final LongAdder openTables;
+        private final LongAdder gamesStarted;
+        private final LongAdder gamesFinished;
+        private final LongAdder actions;
+        private final LongAdder commands;
+        private final AtomicLongArray latencyBuckets;
+
+        ServerStats() {
+            this.startNanos = System.nanoTime();
+            this.tablesOpened = new AtomicLong();
+            this.openTables = new LongAdder();
+            this.gamesStarted = new LongAdder();
+            this.gamesFinished = new LongAdder();
+            this.actions = new LongAdder();
+            this.commands = new LongAdder();
+            this.latencyBuckets = new AtomicLongArray(64 * SUB_BUCKETS);
+        }
+
+        void recordCommand(long nanos) {
+            commands.increment();
+            latencyBuckets.incrementAndGet(bucket(Math.max(1, nanos)));
+        }
+
+        // Log-linear bucket: the power of two range and the next bits below the top one
+        private static int bucket(long nanos) {
+            int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+            if (exponent < SUB_BUCKET_BITS) {
+                return (int) nanos;
+            }
+            int mantissa = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+        }
+
+        // Smallest value that falls into a bucket
+        private static long bucketFloor(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long mantissa = bucket % SUB_BUCKETS;
+            return (1L << exponent) | (mantissa << (exponent - SUB_BUCKET_BITS));
+        }
+
+        /**
+         * Command handling time below which the given fraction of commands
+         * finished, from reading the line to flushing the reply
+         *
+         * @param fraction For example 0.99 for the 99th percentile
+         */
+        public long getLatencyNanos(double fraction) {
+            long total = 0;
+            for (int i = 0; i < latencyBuckets.length(); i++) {
+                total += latencyBuckets.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(fraction * total);
+            long seen = 0;
+            for (int i = 0; i < latencyBuckets.length(); i++) {
+                seen += latencyBuckets.get(i);
+                if (seen >= rank) {
+                    return bucketFloor(i);
+                }
+            }
+            return bucketFloor(latencyBuckets.length() - 1);
+        }
+
+        public long getOpenTables() {
+            return openTables.sum();
+        }
+
+        public long getGamesStarted() {
+            return gamesStarted.sum();
+        }
+
+        public long getGamesFinished() {
+            return gamesFinished.sum();
+        }
+
+        // Turns played, one per successful action or end
+        public long getActions() {
+            return actions.sum();
+        }
+
+        // Every command answered, including queries and failed actions
+        public long getCommands() {
+            return commands.sum();
+        }
+
+        public double getActionsPerSecond() {
+            long elapsed = System.nanoTime() - startNanos;
+            return elapsed == 0 ? 0 : getActions() * 1_000_000_000.0 / elapsed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("tables=%d games=%d finished=%d actions=%d commands=%d actions/s=%.0f p50us=%.1f p99us=%.1f",
+                getOpenTables(), getGamesStarted(), getGamesFinished(), getActions(), getCommands(),
+                getActionsPerSecond(), getLatencyNanos(0.5) / 1000.0, getLatencyNanos(0.99) / 1000.0);
+        }
+    }
+}
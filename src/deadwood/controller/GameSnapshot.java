@@ -0,0 +1,337 @@
+package deadwood.controller;
+
+import java.util.List;
+
+import deadwood.model.Actor;
+import deadwood.model.PointTracker;
+import deadwood.model.RoleCard;
+import deadwood.model.Room;
+import deadwood.model.SceneDeck;
+import deadwood.model.Set;
+
+/**
+ * Flat int[] copy of everything that changes during a game, so a game can be
+ * cloned for search or what-if analysis with a single array copy.
+ *
+ * Layout: a header, then one block per player (in seat order), one block
+ * per room (in GameBoard room index order) and the scene deck's order
+ * (dealt cards first, in deal order). Roles are numbered in
+ * Set.getAllRoles order, starring roles first, and role state is stored as
+ * bitmasks over those numbers. Scene cards are stored as their position in
+ * GameBoard.getCards plus one, so 0 means a set without a scene card.
+ */
+public final class GameSnapshot {
+    // Header
+    private static final int PLAYER_COUNT = 0;
+    private static final int ROOM_COUNT = 1;
+    private static final int CURRENT_PLAYER = 2;
+    private static final int CURRENT_DAY = 3;
+    private static final int GAME_OVER = 4;
+    private static final int DECK_SIZE = 5;
+    private static final int DEALT = 6;
+    private static final int HEADER_SIZE = 7;
+
+    // Player block
+    private static final int RANK = 0;
+    private static final int CASH = 1;
+    private static final int CREDITS = 2;
+    private static final int REHEARSAL = 3;
+    private static final int ROOM = 4;
+    private static final int ROLE = 5;
+    private static final int PLAYER_SIZE = 6;
+
+    // Room block
+    private static final int HAS_SET = 0;
+    private static final int CARD = 1;
+    private static final int SHOTS = 2;
+    private static final int ACTIVE = 3;
+    private static final int TAKEN_MASK = 4;
+    private static final int ACTED_MASK = 5;
+    private static final int ROOM_SIZE = 6;
+
+    private final int[] data;
+
+    private GameSnapshot(int[] data) {
+        this.data = data;
+    }
+
+    /**
+     * Encodes the current state of a game
+     *
+     * @param gameBoard The game to encode
+     * @return A snapshot that no longer references the game
+     */
+    public static GameSnapshot capture(GameBoard gameBoard) {
+        List<Actor> players = gameBoard.getAllPlayers();
+        int roomCount = gameBoard.getRoomCount();
+        SceneDeck deck = gameBoard.getSceneDeck();
+        int[] data = new int[HEADER_SIZE + players.size() * PLAYER_SIZE + roomCount * ROOM_SIZE + deck.size()];
+
+        data[PLAYER_COUNT] = players.size();
+        data[ROOM_COUNT] = roomCount;
+        data[CURRENT_PLAYER] = gameBoard.getTurnTracker().getCurrentPlayerIndex();
+        data[CURRENT_DAY] = gameBoard.getCurrentDay();
+        data[GAME_OVER] = gameBoard.isGameOver() ? 1 : 0;
+        data[DECK_SIZE] = deck.size();
+        data[DEALT] = deck.getDealtCount();
+
+        for (int seat = 0; seat < players.size(); seat++) {
+            Actor player = players.get(seat);
+            PointTracker points = player.getPoints();
+            Room room = player.getLocation().getCurrentRoom();
+            Set set = room != null ? room.getSet() : null;
+            int base = playerBase(seat);
+
+            data[base + RANK] = player.getCurrentRank();
+            data[base + CASH] = points.getPlayerCash();
+            data[base + CREDITS] = points.getPlayerCredit();
+            data[base + REHEARSAL] = points.getRehearsalBonus();
+            data[base + ROOM] = room != null ? gameBoard.getRoomIndex(room) : -1;
+            // Whether the role is an extra follows from its index
+            data[base + ROLE] = set != null ? player.getCurrentRoleIndex() : -1;
+        }
+
+        for (int roomIndex = 0; roomIndex < roomCount; roomIndex++) {
+            Set set = gameBoard.getRoomAt(roomIndex).getSet();
+            int base = roomBase(players.size(), roomIndex);
+            if (set == null) {
+                continue;
+            }
+
+            data[base + HAS_SET] = 1;
+            // Recorded when the card was dealt, no search through the cards
+            data[base + CARD] = gameBoard.getSceneCardIndex(roomIndex) + 1;
+            data[base + SHOTS] = set.getShotCounter();
+            data[base + ACTIVE] = set.isActive() ? 1 : 0;
+            data[base + TAKEN_MASK] = set.getTakenRoleMask();
+            data[base + ACTED_MASK] = set.getActedRoleMask();
+        }
+
+        int deckBase = deckBase(players.size(), roomCount);
+        for (int i = 0; i < deck.size(); i++) {
+            data[deckBase + i] = deck.getCardIndexAt(i);
+        }
+
+        return new GameSnapshot(data);
+    }
+
+    /**
+     * Writes this snapshot back into a game. The game must have been created
+     * with the same number of players and the same board.
+     *
+     * @param gameBoard The game to overwrite
+     */
+    public void restore(GameBoard gameBoard) {
+        List<Actor> players = gameBoard.getAllPlayers();
+        SceneDeck deck = gameBoard.getSceneDeck();
+        if (players.size() != getPlayerCount() || gameBoard.getRoomCount() != data[ROOM_COUNT]
+                || deck.size() != data[DECK_SIZE]) {
+            throw new IllegalArgumentException("Snapshot does not match this game's players and board");
+        }
+
+        gameBoard.getTurnTracker().restoreState(data[CURRENT_PLAYER], data[GAME_OVER] != 0);
+        gameBoard.getDayTracker().restoreDay(data[CURRENT_DAY]);
+        deck.restore(data, deckBase(players.size(), data[ROOM_COUNT]), data[DEALT]);
+
+        // Put the sets back first so players can be placed on their roles.
+        // Rooms keep the sets they have, only a room left without one (the
+        // deck ran out) needs a new one.
+        List<RoleCard> cards = gameBoard.getCards();
+        for (int roomIndex = 0; roomIndex < data[ROOM_COUNT]; roomIndex++) {
+            Room room = gameBoard.getRoomAt(roomIndex);
+            int base = roomBase(players.size(), roomIndex);
+
+            if (data[base + HAS_SET] == 0) {
+                gameBoard.restoreSceneCardIndex(roomIndex, -1);
+                room.assignSet(null);
+                continue;
+            }
+
+            int card = data[base + CARD];
+            RoleCard roleCard = card > 0 ? cards.get(card - 1) : null;
+            gameBoard.restoreSceneCardIndex(roomIndex, card - 1);
+            RoleCard extraRolesCard = gameBoard.getExtraRolesCard(roomIndex);
+
+            Set set = room.getSet();
+            if (set != null && set.getExtraRolesCard() == extraRolesCard) {
+                set.restoreScene(roleCard, data[base + SHOTS]);
+            } else {
+                int extraRoles = extraRolesCard != null ? extraRolesCard.getSceneRoles().size() : 0;
+                set = new Set(roleCard, data[base + SHOTS], extraRoles);
+                if (extraRolesCard != null) {
+                    set.setExtraRolesCard(extraRolesCard);
+                }
+                room.assignSet(set);
+            }
+            set.restoreRoleState(data[base + ACTIVE] != 0, data[base + ACTED_MASK]);
+        }
+        gameBoard.recountScenes();
+
+        for (int seat = 0; seat < players.size(); seat++) {
+            Actor player = players.get(seat);
+            int base = playerBase(seat);
+            int roomIndex = data[base + ROOM];
+            Room room = roomIndex >= 0 ? gameBoard.getRoomAt(roomIndex) : null;
+            Set set = room != null ? room.getSet() : null;
+
+            int roleIndex = data[base + ROLE];
+            if (set != null && roleIndex >= 0) {
+                set.assignRole(roleIndex, player.getPlayerID());
+            }
+
+            if (room != null) {
+                player.getLocation().updatePlayerLocation(room);
+            }
+            player.restoreState(data[base + RANK], set, roleIndex);
+            player.getPoints().restoreState(data[base + CASH], data[base + CREDITS], data[base + REHEARSAL]);
+        }
+
+        // Roles recorded as taken without a player holding them
+        for (int roomIndex = 0; roomIndex < data[ROOM_COUNT]; roomIndex++) {
+            Set set = gameBoard.getRoomAt(roomIndex).getSet();
+            if (set == null) {
+                continue;
+            }
+
+            int orphaned = data[roomBase(players.size(), roomIndex) + TAKEN_MASK] & ~heldRoleMask(roomIndex);
+            for (int i = 0; orphaned != 0; i++, orphaned >>>= 1) {
+                if ((orphaned & 1) != 0) {
+                    set.assignRole(i, Set.NO_PLAYER);
+                }
+            }
+        }
+    }
+
+    // Roles of a room that players hold, read from the player blocks so a
+    // restore allocates nothing
+    private int heldRoleMask(int roomIndex) {
+        int held = 0;
+        for (int seat = 0; seat < data[PLAYER_COUNT]; seat++) {
+            int base = playerBase(seat);
+            if (data[base + ROOM] == roomIndex && data[base + ROLE] >= 0) {
+                held |= 1 << data[base + ROLE];
+            }
+        }
+        return held;
+    }
+
+    /**
+     * @return An independent copy, costs one array copy
+     */
+    public GameSnapshot copy() {
+        return new GameSnapshot(data.clone());
+    }
+
+    /**
+     * @return A copy of the encoded state
+     */
+    public int[] toArray() {
+        return data.clone();
+    }
+
+    /**
+     * Wraps an array produced by toArray
+     *
+     * @param data Encoded state, copied
+     * @return The decoded snapshot
+     */
+    public static GameSnapshot fromArray(int[] data) {
+        if (data.length < HEADER_SIZE
+                || data.length != deckBase(data[PLAYER_COUNT], data[ROOM_COUNT]) + data[DECK_SIZE]) {
+            throw new IllegalArgumentException("Not an encoded game snapshot");
+        }
+        return new GameSnapshot(data.clone());
+    }
+
+    private static int playerBase(int seat) {
+        return HEADER_SIZE + seat * PLAYER_SIZE;
+    }
+
+    private static int roomBase(int playerCount, int roomIndex) {
+        return HEADER_SIZE + playerCount * PLAYER_SIZE + roomIndex * ROOM_SIZE;
+    }
+
+    private static int deckBase(int playerCount, int roomCount) {
+        return roomBase(playerCount, roomCount);
+    }
+
+    // Read access to the encoded values, players by seat and rooms by GameBoard room index
+
+    public int getPlayerCount() {
+        return data[PLAYER_COUNT];
+    }
+
+    public int getRoomCount() {
+        return data[ROOM_COUNT];
+    }
+
+    public int getCurrentPlayerIndex() {
+        return data[CURRENT_PLAYER];
+    }
+
+    public int getCurrentDay() {
+        return data[CURRENT_DAY];
+    }
+
+    public boolean isGameOver() {
+        return data[GAME_OVER] != 0;
+    }
+
+    // Number of scene cards dealt so far this game
+    public int getDealtCount() {
+        return data[DEALT];
+    }
+
+    // Position in GameBoard.getCards of the n-th card dealt this game
+    public int getDealtCard(int n) {
+        if (n < 0 || n >= data[DEALT]) {
+            throw new IllegalArgumentException("Only " + data[DEALT] + " cards have been dealt");
+        }
+        return data[deckBase(data[PLAYER_COUNT], data[ROOM_COUNT]) + n];
+    }
+
+    public int getRank(int seat) {
+        return data[playerBase(seat) + RANK];
+    }
+
+    public int getCash(int seat) {
+        return data[playerBase(seat) + CASH];
+    }
+
+    public int getCredits(int seat) {
+        return data[playerBase(seat) + CREDITS];
+    }
+
+    public int getRehearsalBonus(int seat) {
+        return data[playerBase(seat) + REHEARSAL];
+    }
+
+    public int getPlayerRoom(int seat) {
+        return data[playerBase(seat) + ROOM];
+    }
+
+    // Index of the role the player works, -1 if none
+    public int getPlayerRole(int seat) {
+        return data[playerBase(seat) + ROLE];
+    }
+
+    public boolean hasSet(int roomIndex) {
+        return data[roomBase(getPlayerCount(), roomIndex) + HAS_SET] != 0;
+    }
+
+    public int getShots(int roomIndex) {
+        return data[roomBase(getPlayerCount(), roomIndex) + SHOTS];
+    }
+
+    public boolean isSceneActive(int roomIndex) {
+        return data[roomBase(getPlayerCount(), roomIndex) + ACTIVE] != 0;
+    }
+
+    public int getTakenRoleMask(int roomIndex) {
+        return data[roomBase(getPlayerCount(), roomIndex) + TAKEN_MASK];
+    }
+
+    public int getActedRoleMask(int roomIndex) {
+        return data[roomBase(getPlayerCount(), roomIndex) + ACTED_MASK];
+    }
+}
@@ -0,0 +1,282 @@
+package deadwood.controller;
+
+import java.util.List;
+
+import deadwood.model.Actor;
+import deadwood.model.CastingOffice;
+import deadwood.model.PointTracker;
+import deadwood.model.RoleCard;
+import deadwood.model.Room;
+import deadwood.model.Set;
+
+/**
+ * Lists every legal action for the current player as int encoded moves,
+ * written into a caller supplied buffer so generating them allocates nothing.
+ *
+ * An action packs its type into the high 16 bits and its argument into the
+ * low 16 bits: the destination room index for MOVE, the role index (in
+ * Set.getAllRoles order) for WORK and rank * 2 + currency for UPGRADE.
+ * ACT, REHEARSE and END take no argument.
+ *
+ * The rules follow the GUI and text interface: a player may move or take a
+ * new role only without a role or with a completed one, may act or rehearse
+ * only on an unfinished role, and may upgrade only in the Casting Office
+ * while not working a role. Every action ends the player's turn.
+ */
+public final class LegalActions {
+    public static final int MOVE = 1;
+    public static final int WORK = 2;
+    public static final int ACT = 3;
+    public static final int REHEARSE = 4;
+    public static final int UPGRADE = 5;
+    public static final int END = 6;
+
+    public static final int CURRENCY_CASH = 0;
+    public static final int CURRENCY_CREDIT = 1;
+
+    private static final int MAX_RANK = 6;
+    private static final int ARGUMENT_MASK = 0xFFFF;
+
+    private LegalActions() {
+    }
+
+    // Encoding helpers
+
+    public static int encode(int type, int argument) {
+        return (type << 16) | (argument & ARGUMENT_MASK);
+    }
+
+    public static int move(int roomIndex) {
+        return encode(MOVE, roomIndex);
+    }
+
+    public static int work(int roleIndex) {
+        return encode(WORK, roleIndex);
+    }
+
+    public static int upgrade(int targetRank, int currency) {
+        return encode(UPGRADE, targetRank * 2 + currency);
+    }
+
+    public static int typeOf(int action) {
+        return action >>> 16;
+    }
+
+    public static int argumentOf(int action) {
+        return action & ARGUMENT_MASK;
+    }
+
+    public static int upgradeRankOf(int action) {
+        return argumentOf(action) / 2;
+    }
+
+    public static int upgradeCurrencyOf(int action) {
+        return argumentOf(action) % 2;
+    }
+
+    /**
+     * Upper bound on the number of legal actions in any state of this game,
+     * use it to size the buffer passed to generate
+     */
+    public static int maxActions(GameBoard gameBoard) {
+        int maxNeighbors = 0;
+        int maxRoles = 0;
+        for (int i = 0; i < gameBoard.getRoomCount(); i++) {
+            maxNeighbors = Math.max(maxNeighbors, gameBoard.getAdjacentRoomIndices(i).length);
+            Set set = gameBoard.getRoomAt(i).getSet();
+            RoleCard extras = gameBoard.getExtraRolesCard(i);
+            int roles = extras != null ? extras.getSceneRoles().size() : 0;
+            for (RoleCard card : gameBoard.getCards()) {
+                maxRoles = Math.max(maxRoles, roles + card.getSceneRoles().size());
+            }
+            if (set != null) {
+                maxRoles = Math.max(maxRoles, set.getRoleCount());
+            }
+        }
+        // Upgrades cover ranks 2-6 in both currencies, plus act, rehearse and end
+        return maxNeighbors + maxRoles + (MAX_RANK - 1) * 2 + 3;
+    }
+
+    /**
+     * Writes the legal actions of the current player into out
+     *
+     * @param gameBoard The game
+     * @param out Buffer of at least maxActions(gameBoard) entries
+     * @return Number of actions written, END is always the last one
+     */
+    public static int generate(GameBoard gameBoard, int[] out) {
+        int count = 0;
+        if (gameBoard.isGameOver()) {
+            return count;
+        }
+
+        Actor player = gameBoard.getCurrentPlayer();
+        Room room = player.getLocation().getCurrentRoom();
+        if (room == null) {
+            out[count++] = encode(END, 0);
+            return count;
+        }
+
+        Set set = room.getSet();
+        boolean hasRole = player.getCurrentRole() != null;
+        boolean isFree = !hasRole || player.isCurrentRoleCompleted();
+        boolean sceneActive = set != null && set.isActive();
+
+        if (isFree) {
+            int[] neighbors = gameBoard.getAdjacentRoomIndices(gameBoard.getRoomIndex(room));
+            for (int neighbor : neighbors) {
+                if (neighbor >= 0) {
+                    out[count++] = move(neighbor);
+                }
+            }
+
+            if (sceneActive) {
+                int roleCount = set.getRoleCount();
+                for (int i = 0; i < roleCount; i++) {
+                    if (set.getRoleAt(i).getLevel() <= player.getCurrentRank()
+                            && !set.isRoleTaken(i)
+                            && !set.hasRoleBeenActed(i)) {
+                        out[count++] = work(i);
+                    }
+                }
+            }
+        } else if (sceneActive) {
+            out[count++] = encode(ACT, 0);
+            if (canRehearse(player, set)) {
+                out[count++] = encode(REHEARSE, 0);
+            }
+        }
+
+        if (!hasRole && room instanceof CastingOffice) {
+            CastingOffice office = (CastingOffice) room;
+            PointTracker points = player.getPoints();
+            int rank = player.getCurrentRank();
+            for (int target = rank + 1; target <= MAX_RANK; target++) {
+                if (office.validateUpgrade(rank, target, "cash", points)) {
+                    out[count++] = upgrade(target, CURRENCY_CASH);
+                }
+                if (office.validateUpgrade(rank, target, "credit", points)) {
+                    out[count++] = upgrade(target, CURRENCY_CREDIT);
+                }
+            }
+        }
+
+        out[count++] = encode(END, 0);
+        return count;
+    }
+
+    /**
+     * Checks whether the current player has at least one legal action of a type
+     */
+    public static boolean hasAction(GameBoard gameBoard, int type, int[] buffer) {
+        int count = generate(gameBoard, buffer);
+        for (int i = 0; i < count; i++) {
+            if (typeOf(buffer[i]) == type) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Rehearsal is capped one below the scene budget
+    private static boolean canRehearse(Actor player, Set set) {
+        RoleCard roleCard = set.getRoleCard();
+        return roleCard != null && player.getPoints().getRehearsalBonus() < roleCard.getSceneBudget() - 1;
+    }
+
+    /**
+     * Performs an action for the current player without ending the turn
+     *
+     * @param gameBoard The game
+     * @param action An action produced by generate for the current state
+     * @return true if the action went through (a failed acting roll still counts)
+     */
+    public static boolean apply(GameBoard gameBoard, int action) {
+        Actor player = gameBoard.getCurrentPlayer();
+        Room room = player.getLocation().getCurrentRoom();
+        int argument = argumentOf(action);
+
+        switch (typeOf(action)) {
+            case MOVE: {
+                String destination = neighborName(gameBoard, room, argument);
+                return destination != null && player.inputMove(destination, gameBoard);
+            }
+            case WORK: {
+                if (room.getSet() == null || room.getSet().getRoleAt(argument) == null) {
+                    return false;
+                }
+                if (player.getCurrentRole() != null) {
+                    player.abandonRole();
+                }
+                return player.inputRole(argument);
+            }
+            case ACT:
+                player.inputAttemptScene(gameBoard);
+                return true;
+            case REHEARSE:
+                return player.inputRehearse();
+            case UPGRADE:
+                return player.inputUpgrade(upgradeRankOf(action),
+                    upgradeCurrencyOf(action) == CURRENCY_CASH ? "cash" : "credit");
+            case END:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Performs an action and ends the current player's turn, like the GUI and
+     * text interface do after every action
+     */
+    public static boolean play(GameBoard gameBoard, int action) {
+        boolean success = apply(gameBoard, action);
+        gameBoard.endTurn();
+        return success;
+    }
+
+    /**
+     * Human readable form of an action in the current state, e.g. "move Jail"
+     * or "upgrade 3 cash", matching the text interface commands
+     */
+    public static String describe(GameBoard gameBoard, int action) {
+        Room room = gameBoard.getCurrentPlayer().getLocation().getCurrentRoom();
+        int argument = argumentOf(action);
+
+        switch (typeOf(action)) {
+            case MOVE:
+                return "move " + neighborName(gameBoard, room, argument);
+            case WORK: {
+                RoleCard.Role role = room != null && room.getSet() != null ? room.getSet().getRoleAt(argument) : null;
+                return "work " + (role != null ? role.getName() : "?");
+            }
+            case ACT:
+                return "act";
+            case REHEARSE:
+                return "rehearse";
+            case UPGRADE:
+                return "upgrade " + upgradeRankOf(action)
+                    + (upgradeCurrencyOf(action) == CURRENCY_CASH ? " cash" : " credit");
+            case END:
+                return "end";
+            default:
+                return "unknown";
+        }
+    }
+
+    // Neighbor name as written on the board, which inputMove expects
+    private static String neighborName(GameBoard gameBoard, Room room, int roomIndex) {
+        if (room == null) {
+            return null;
+        }
+
+        int[] neighbors = gameBoard.getAdjacentRoomIndices(gameBoard.getRoomIndex(room));
+        List<String> names = room.getAdjacentRooms();
+        for (int i = 0; i < neighbors.length; i++) {
+            if (neighbors[i] == roomIndex) {
+                return names.get(i);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,344 @@
+package deadwood.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import deadwood.model.ActingOdds;
+import deadwood.model.Actor;
+import deadwood.model.Set;
+import deadwood.util.GameMessageSink;
+
+/**
+ * Computer player that picks its actions with Monte Carlo Tree Search.
+ *
+ * The search is open loop: tree nodes are action sequences rather than game
+ * states, and every iteration replays the sequence on a fresh copy of the
+ * position, so dice rolls and scene bonuses are sampled anew each time.
+ * Search is root parallel: every worker thread builds its own tree on its own
+ * scratch GameBoard and the root visit counts are summed at the end.
+ *
+ * The live game is only read once, on the calling thread, to take a
+ * GameSnapshot. Everything else runs on the bot's worker threads, so
+ * chooseActionAsync can be used from the Swing event thread.
+ */
+public class MctsBot {
+    // Exploration constant for UCT, rewards are in [0, 1]
+    private static final double EXPLORATION = 1.2;
+
+    // Turns played randomly after leaving the tree before the position is scored
+    private static final int ROLLOUT_TURNS = 60;
+
+    private int iterationBudget;
+    private long timeBudgetMillis;
+    private int threads;
+    private ExecutorService coordinator;
+    private ExecutorService workers;
+    private GameBoard[] scratchBoards;
+    private SplittableRandom seeds;
+
+    /**
+     * @param iterationBudget Total playouts per move across all threads
+     * @param timeBudgetMillis Deadline per move in milliseconds
+     * @param threads Number of search threads
+     */
+    public MctsBot(int iterationBudget, long timeBudgetMillis, int threads) {
+        if (iterationBudget < 1 || timeBudgetMillis < 1 || threads < 1) {
+            throw new IllegalArgumentException("Bot budgets and thread count must be positive");
+        }
+        this.iterationBudget = iterationBudget;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.threads = threads;
+        this.scratchBoards = new GameBoard[threads];
+        this.seeds = new SplittableRandom();
+
+        // Searches queue on a single coordinator thread, which also searches as
+        // worker 0, so they never compete for the helper threads or scratch boards
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "mcts-bot-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.coordinator = Executors.newSingleThreadExecutor(factory);
+        this.workers = threads > 1 ? Executors.newFixedThreadPool(threads - 1, factory) : null;
+    }
+
+    /**
+     * Bot using every core with the given per-move deadline
+     */
+    public MctsBot(long timeBudgetMillis) {
+        this(Integer.MAX_VALUE, timeBudgetMillis, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Searches the current position and blocks until the deadline or the
+     * iteration budget is reached
+     *
+     * @param gameBoard The live game, only read on this thread
+     * @return The chosen action, encoded as in LegalActions
+     */
+    public int chooseAction(GameBoard gameBoard) {
+        try {
+            return chooseActionAsync(gameBoard).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return LegalActions.encode(LegalActions.END, 0);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Bot search failed", e.getCause());
+        }
+    }
+
+    /**
+     * Takes a snapshot of the current position and searches it on the bot's
+     * own threads
+     *
+     * @param gameBoard The live game, only read on this thread
+     * @return Future completed with the chosen action
+     */
+    public CompletableFuture<Integer> chooseActionAsync(GameBoard gameBoard) {
+        int[] legal = new int[LegalActions.maxActions(gameBoard)];
+        int count = LegalActions.generate(gameBoard, legal);
+
+        // Nothing to think about
+        if (count <= 1) {
+            return CompletableFuture.completedFuture(count == 1 ? legal[0] : LegalActions.encode(LegalActions.END, 0));
+        }
+
+        GameSnapshot root = GameSnapshot.capture(gameBoard);
+        int numPlayers = gameBoard.getAllPlayers().size();
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+
+        return CompletableFuture.supplyAsync(() -> search(root, numPlayers, deadline, legal, count), coordinator);
+    }
+
+    /**
+     * Stops the search threads, the bot cannot be used afterwards
+     */
+    public void shutdown() {
+        coordinator.shutdownNow();
+        if (workers != null) {
+            workers.shutdownNow();
+        }
+    }
+
+    private int search(GameSnapshot root, int numPlayers, long deadline, int[] legal, int count) {
+        int perThread = Math.max(1, iterationBudget / threads);
+        List<Future<Node>> trees = new ArrayList<>();
+        for (int i = 1; i < threads; i++) {
+            int worker = i;
+            long seed = nextSeed();
+            trees.add(workers.submit(() -> grow(worker, seed, root, numPlayers, deadline, perThread)));
+        }
+        Node merged = grow(0, nextSeed(), root, numPlayers, deadline, perThread);
+
+        for (Future<Node> tree : trees) {
+            try {
+                merged.mergeRoot(tree.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Bot search failed", e.getCause());
+            }
+        }
+
+        return merged.mostVisited(legal, count);
+    }
+
+    private synchronized long nextSeed() {
+        return seeds.nextLong();
+    }
+
+    // Runs playouts on one worker's scratch board until its budget or the deadline
+    private Node grow(int worker, long seed, GameSnapshot root, int numPlayers, long deadline, int iterations) {
+        GameBoard board = scratchBoard(worker, numPlayers);
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] buffer = new int[LegalActions.maxActions(board)];
+        double[] rewards = new double[numPlayers];
+        List<Node> path = new ArrayList<>();
+        List<Integer> movers = new ArrayList<>();
+        Node tree = new Node(LegalActions.encode(LegalActions.END, 0));
+
+        for (int i = 0; i < iterations && System.nanoTime() < deadline; i++) {
+            root.restore(board);
+            path.clear();
+            movers.clear();
+
+            // Selection and expansion
+            Node node = tree;
+            while (!board.isGameOver()) {
+                int mover = board.getAllPlayers().indexOf(board.getCurrentPlayer());
+                int count = LegalActions.generate(board, buffer);
+                Node child = node.selectOrExpand(buffer, count, random);
+                boolean expanded = child.visits == 0;
+
+                LegalActions.play(board, child.action);
+                path.add(child);
+                movers.add(mover);
+                node = child;
+                if (expanded) {
+                    break;
+                }
+            }
+
+            // Simulation
+            for (int turn = 0; turn < ROLLOUT_TURNS && !board.isGameOver(); turn++) {
+                int count = LegalActions.generate(board, buffer);
+                LegalActions.play(board, rolloutAction(board, buffer, count, random));
+            }
+            score(board, rewards);
+
+            // Backpropagation, each node is credited to the player who chose it
+            tree.visits++;
+            for (int p = 0; p < path.size(); p++) {
+                Node visited = path.get(p);
+                visited.visits++;
+                visited.rewardSum += rewards[movers.get(p)];
+            }
+        }
+        return tree;
+    }
+
+    // Scratch boards are created once per worker and reused for every move
+    private GameBoard scratchBoard(int worker, int numPlayers) {
+        GameBoard board = scratchBoards[worker];
+        if (board == null || board.getAllPlayers().size() != numPlayers) {
+            board = new GameBoard(numPlayers, nextSeed(), GameMessageSink.NONE);
+            scratchBoards[worker] = board;
+        }
+        return board;
+    }
+
+    // Random playout that ends the turn without doing anything only when
+    // forced to, and acts or rehearses as the acting odds suggest
+    private static int rolloutAction(GameBoard board, int[] actions, int count, SplittableRandom random) {
+        if (count <= 1) {
+            return actions[0];
+        }
+
+        if (LegalActions.typeOf(actions[0]) == LegalActions.ACT) {
+            Actor player = board.getCurrentPlayer();
+            Set set = player.getLocation().getCurrentRoom().getSet();
+            boolean rehearse = LegalActions.typeOf(actions[1]) == LegalActions.REHEARSE
+                && ActingOdds.recommend(set, player.isExtraRole(), player.getPoints().getRehearsalBonus()) == ActingOdds.REHEARSE;
+            return rehearse ? actions[1] : actions[0];
+        }
+        return actions[random.nextInt(count - 1)];
+    }
+
+    // Reward per seat: share of the leading score, plus a bonus for leading
+    private static void score(GameBoard board, double[] rewards) {
+        List<Actor> players = board.getAllPlayers();
+        int best = 1;
+        for (Actor player : players) {
+            best = Math.max(best, player.getPoints().calcTotalPoints(player.getCurrentRank()));
+        }
+
+        for (int seat = 0; seat < players.size(); seat++) {
+            Actor player = players.get(seat);
+            int points = player.getPoints().calcTotalPoints(player.getCurrentRank());
+            rewards[seat] = 0.5 * points / best + (points == best ? 0.5 : 0.0);
+        }
+    }
+
+    /**
+     * Open loop tree node, reached by playing action from its parent
+     */
+    private static class Node {
+        private int action;
+        private int visits;
+        private double rewardSum;
+        private List<Node> children;
+
+        Node(int action) {
+            this.action = action;
+            this.children = new ArrayList<>();
+        }
+
+        private Node child(int childAction) {
+            for (Node child : children) {
+                if (child.action == childAction) {
+                    return child;
+                }
+            }
+            return null;
+        }
+
+        // Untried legal actions first (chosen at random), otherwise UCT over the legal ones
+        Node selectOrExpand(int[] legal, int count, SplittableRandom random) {
+            int untried = 0;
+            for (int i = 0; i < count; i++) {
+                if (child(legal[i]) == null) {
+                    untried++;
+                }
+            }
+
+            if (untried > 0) {
+                int pick = random.nextInt(untried);
+                for (int i = 0; i < count; i++) {
+                    if (child(legal[i]) == null && pick-- == 0) {
+                        Node created = new Node(legal[i]);
+                        children.add(created);
+                        return created;
+                    }
+                }
+            }
+
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            double logVisits = Math.log(Math.max(1, visits));
+            for (int i = 0; i < count; i++) {
+                Node candidate = child(legal[i]);
+                double value = candidate.rewardSum / candidate.visits
+                    + EXPLORATION * Math.sqrt(logVisits / candidate.visits);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = candidate;
+                }
+            }
+            return best;
+        }
+
+        // Adds another worker's root statistics into this root
+        void mergeRoot(Node other) {
+            visits += other.visits;
+            for (Node otherChild : other.children) {
+                Node mine = child(otherChild.action);
+                if (mine == null) {
+                    children.add(otherChild);
+                } else {
+                    mine.visits += otherChild.visits;
+                    mine.rewardSum += otherChild.rewardSum;
+                }
+            }
+        }
+
+        // Most visited legal root action, ties broken by mean reward
+        int mostVisited(int[] legal, int count) {
+            int bestAction = legal[0];
+            int bestVisits = -1;
+            double bestMean = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                Node candidate = child(legal[i]);
+                if (candidate == null || candidate.visits == 0) {
+                    continue;
+                }
+                double mean = candidate.rewardSum / candidate.visits;
+                if (candidate.visits > bestVisits || (candidate.visits == bestVisits && mean > bestMean)) {
+                    bestAction = candidate.action;
+                    bestVisits = candidate.visits;
+                    bestMean = mean;
+                }
+            }
+            return bestAction;
+        }
+    }
+}
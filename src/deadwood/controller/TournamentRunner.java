@@ -0,0 +1,239 @@
+package deadwood.controller;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many independent headless games across all cores (Monte Carlo runs).
+ * Every game gets its own seed derived from the tournament seed and its game
+ * index, so results do not depend on how the work was split between threads.
+ * Each worker fills its own statistics and they are merged while joining, so
+ * no locks or shared counters are touched during play.
+ */
+public class TournamentRunner {
+    // Games played sequentially by one task before it stops splitting
+    private static final int BATCH_SIZE = 64;
+
+    // Same increment SplittableRandom uses between generated seeds
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private int numPlayers;
+    private int numGames;
+    private long seed;
+
+    public TournamentRunner(int numPlayers, int numGames, long seed) {
+        if (numPlayers < 2 || numPlayers > 8) {
+            throw new IllegalArgumentException("Game requires 2-8 players");
+        }
+        if (numGames < 1) {
+            throw new IllegalArgumentException("Tournament needs at least one game");
+        }
+
+        this.numPlayers = numPlayers;
+        this.numGames = numGames;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs every game on the common fork/join pool
+     *
+     * @return Merged per-player statistics
+     */
+    public TournamentStats run() {
+        return run(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs every game on the given pool
+     *
+     * @param pool Pool whose parallelism decides how many games run at once
+     * @return Merged per-player statistics
+     */
+    public TournamentStats run(ForkJoinPool pool) {
+        long start = System.nanoTime();
+        TournamentStats stats = pool.invoke(new GameRangeTask(0, numGames));
+        stats.elapsedNanos = System.nanoTime() - start;
+        return stats;
+    }
+
+    /**
+     * Seed for the game at the given index, usable with GameEngine.playGame(long)
+     * to replay any single game of the tournament
+     */
+    public long seedForGame(int gameIndex) {
+        long z = seed + (gameIndex + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    // Splits the game range in half until it is small enough to play directly
+    private class GameRangeTask extends RecursiveTask<TournamentStats> {
+        private static final long serialVersionUID = 1L;
+
+        private int from;
+        private int to;
+
+        GameRangeTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TournamentStats compute() {
+            if (to - from <= BATCH_SIZE) {
+                return playRange();
+            }
+
+            int mid = (from + to) >>> 1;
+            GameRangeTask left = new GameRangeTask(from, mid);
+            GameRangeTask right = new GameRangeTask(mid, to);
+            left.fork();
+            TournamentStats rightStats = right.compute();
+            TournamentStats leftStats = left.join();
+            leftStats.merge(rightStats);
+            return leftStats;
+        }
+
+        private TournamentStats playRange() {
+            TournamentStats stats = new TournamentStats(numPlayers);
+            GameEngine engine = new GameEngine(numPlayers);
+            for (int i = from; i < to; i++) {
+                stats.record(engine.playGame(seedForGame(i)));
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * Per-seat score statistics over all games of a tournament
+     */
+    public static class TournamentStats {
+        private int numPlayers;
+        private long games;
+        private long completedGames;
+        private long totalTurns;
+        private long[] wins;
+        private long[] scoreSum;
+        private long[] scoreSquareSum;
+        private int[] minScore;
+        private int[] maxScore;
+        private long elapsedNanos;
+
+        TournamentStats(int numPlayers) {
+            this.numPlayers = numPlayers;
+            this.wins = new long[numPlayers];
+            this.scoreSum = new long[numPlayers];
+            this.scoreSquareSum = new long[numPlayers];
+            this.minScore = new int[numPlayers];
+            this.maxScore = new int[numPlayers];
+            for (int i = 0; i < numPlayers; i++) {
+                minScore[i] = Integer.MAX_VALUE;
+                maxScore[i] = Integer.MIN_VALUE;
+            }
+        }
+
+        void record(GameEngine.GameResult result) {
+            games++;
+            totalTurns += result.getTurnsPlayed();
+            if (result.isCompleted()) {
+                completedGames++;
+            }
+
+            int best = Integer.MIN_VALUE;
+            for (int i = 0; i < numPlayers; i++) {
+                best = Math.max(best, result.getScore(i));
+            }
+
+            for (int i = 0; i < numPlayers; i++) {
+                int score = result.getScore(i);
+                scoreSum[i] += score;
+                scoreSquareSum[i] += (long) score * score;
+                minScore[i] = Math.min(minScore[i], score);
+                maxScore[i] = Math.max(maxScore[i], score);
+                // Shared first place counts as a win for everyone tied
+                if (score == best) {
+                    wins[i]++;
+                }
+            }
+        }
+
+        void merge(TournamentStats other) {
+            games += other.games;
+            completedGames += other.completedGames;
+            totalTurns += other.totalTurns;
+            for (int i = 0; i < numPlayers; i++) {
+                wins[i] += other.wins[i];
+                scoreSum[i] += other.scoreSum[i];
+                scoreSquareSum[i] += other.scoreSquareSum[i];
+                minScore[i] = Math.min(minScore[i], other.minScore[i]);
+                maxScore[i] = Math.max(maxScore[i], other.maxScore[i]);
+            }
+        }
+
+        public int getPlayerCount() {
+            return numPlayers;
+        }
+
+        public long getGames() {
+            return games;
+        }
+
+        // Games that reached the end of the last day within the turn limit
+        public long getCompletedGames() {
+            return completedGames;
+        }
+
+        public double getAverageTurns() {
+            return games == 0 ? 0 : (double) totalTurns / games;
+        }
+
+        // Statistics below are indexed by seat (0 based, Player 1 is seat 0)
+        public long getWins(int seat) {
+            return wins[seat];
+        }
+
+        public double getWinRate(int seat) {
+            return games == 0 ? 0 : (double) wins[seat] / games;
+        }
+
+        public double getMeanScore(int seat) {
+            return games == 0 ? 0 : (double) scoreSum[seat] / games;
+        }
+
+        public double getScoreStdDev(int seat) {
+            if (games == 0) {
+                return 0;
+            }
+            double mean = getMeanScore(seat);
+            double variance = (double) scoreSquareSum[seat] / games - mean * mean;
+            return Math.sqrt(Math.max(0, variance));
+        }
+
+        public int getMinScore(int seat) {
+            return minScore[seat];
+        }
+
+        public int getMaxScore(int seat) {
+            return maxScore[seat];
+        }
+
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : games * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%d games (%d completed), %.1f turns/game, %.0f games/s%n",
+                games, completedGames, getAverageTurns(), getGamesPerSecond()));
+            sb.append("Player |   Mean | StdDev | Min | Max | Win rate\n");
+            for (int i = 0; i < numPlayers; i++) {
+                sb.append(String.format("%6d | %6.2f | %6.2f | %3d | %3d | %7.2f%%%n",
+                    i + 1, getMeanScore(i), getScoreStdDev(i), minScore[i], maxScore[i],
+                    getWinRate(i) * 100));
+            }
+            return sb.toString();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import deadwood.model.*;
 import deadwood.controller.*;
+import deadwood.util.GameMessageSink;
 
 public class TurnTracker {
     private int currentPlayerIndex;
@@ -11,6 +12,7 @@ public class TurnTracker {
     private DayTracker dayTracker;
     private Trailer trailer;
     private GameBoard gameBoard; 
+    private boolean gameOver;
 
     public TurnTracker(List<Actor> players, DayTracker dayTracker, Trailer trailer, GameBoard gameBoard) {
         if (players == null || players.isEmpty()) {
@@ -22,9 +24,15 @@ public class TurnTracker {
         this.trailer = trailer;
         this.gameBoard = gameBoard; 
         this.currentPlayerIndex = 0;
+        this.gameOver = false;
     }
 
     public void endTurn() {
+        // Nothing left to advance once the final day is over
+        if (gameOver) {
+            return;
+        }
+
         // Store current player ID for logging
         int currentID = players.get(currentPlayerIndex).getPlayerID();
         
@@ -36,35 +44,19 @@ public class TurnTracker {
     
         // If we've looped back to the first player, we've completed a round
         if (currentPlayerIndex == 0) {
-            System.out.println("All players have taken their turn. Starting new round.");
+            say("All players have taken their turn. Starting new round.");
             
             // Check if all scenes are wrapped to end the day
             if (checkAllScenesWrapped()) {
-                System.out.println("All scenes are wrapped! Day is ending...");
+                say("All scenes are wrapped! Day is ending...");
                 initiateNewDay();
             }
         } 
     }
 
+    // The board counts active sets as scenes are dealt and wrapped
     private boolean checkAllScenesWrapped() {
-        // Get all rooms that can have sets
-        for (String roomID : gameBoard.getAllRoomNames()) {
-            Room room = gameBoard.getRoomByID(roomID);
-            
-            // Skip rooms that can't have sets (like Trailer, Office)
-            if (room instanceof Trailer || room instanceof CastingOffice) {
-                continue;
-            }
-            
-            // Check if this room has an active set
-            Set set = room.getSet();
-            if (set != null && set.isActive()) {
-                return false; // Found at least one active set
-            }
-        }
-        
-        // If we get here, all sets are wrapped
-        return true;
+        return gameBoard.getActiveSceneCount() == 0;
     }
 
 
@@ -72,10 +64,10 @@ public class TurnTracker {
         // Use the day tracker to handle day transition
         dayTracker.updateDay(players, trailer, gameBoard); 
         
-        // Check if game has ended
+        // Check if game has ended, final scores were already reported by the day tracker
         if (dayTracker.gameEnd()) {
-            System.out.println("Game Over! Calculating final scores...");
-            calculateFinalScores();
+            gameOver = true;
+            gameBoard.finishGame();
             return;
         }
 
@@ -84,24 +76,36 @@ public class TurnTracker {
 
         // Restart with the first player
         currentPlayerIndex = 0;
-        System.out.println("A new day has begun. Player " + players.get(currentPlayerIndex).getPlayerID() + " starts.");
+        if (gameBoard.getMessageSink().isEnabled(GameMessageSink.Type.TURN)) {
+            say("A new day has begun. Player " + players.get(currentPlayerIndex).getPlayerID() + " starts.");
+        }
     }
     
 
-    private void calculateFinalScores() {
-        System.out.println("\n=== FINAL SCORES ===");
-        
-        for (Actor player : players) {
-            int finalScore = player.getPoints().calcTotalPoints(player.getCurrentRank());
-            System.out.println("Player " + player.getPlayerID() + ": " + finalScore + " points");
-        }
-        
-        System.out.println("Thanks for playing Deadwood!");
-        System.exit(0);
+    private void say(String text) {
+        gameBoard.getMessageSink().message(GameMessageSink.Type.TURN, GameMessageSink.NO_PLAYER, text);
     }
 
+    /**
+     * Checks if the last day has finished
+     *
+     * @return true once the game is over, false otherwise
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
 
     public Actor getCurrentPlayer() {
         return players.get(currentPlayerIndex);
     }
+
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+
+    // Overwrite turn order state, used when restoring a snapshot
+    void restoreState(int currentPlayerIndex, boolean gameOver) {
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.gameOver = gameOver;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,399 @@
+package deadwood.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import deadwood.util.VarintReader;
+import deadwood.util.VarintWriter;
+
+/**
+ * Compact binary form of game actions and of what a client shows, for
+ * sending a game over the network without shipping the view models after
+ * every click.
+ *
+ * Actions are LegalActions codes written as two varints, type and argument.
+ *
+ * The state is a flat row of ints taken from getBoardViewModel,
+ * getAllPlayersViewModels, getCurrentSceneViewModel and
+ * getDayProgressViewModel:
+ * <pre>
+ *   header:   player count, shot counter count, current player ID, day,
+ *             scenes wrapped today, game over, current scene ID (-1 for
+ *             none), scene active, roles taken mask, roles acted mask
+ *   players:  per seat cash, credits, rank, rehearsal bonus, token room
+ *             index, token slot, role (none, starring or extra)
+ *   counters: per scene room in PlayerLocation.getSceneRoomIDs order the
+ *             shots remaining, -1 while the counter is hidden
+ * </pre>
+ * Room indices are GameBoard room indices, role masks have one bit per role
+ * of the current scene, starring roles first.
+ *
+ * Frames start with their kind and a sequence number. A full frame carries
+ * every value and replaces whatever the receiver had. A delta frame only
+ * carries the values that changed since the frame before it, each as the
+ * gap to the previous changed index and the zigzag difference to the old
+ * value, so a typical turn costs a handful of bytes.
+ */
+public final class WireCodec {
+    public static final int FULL = 0;
+    public static final int DELTA = 1;
+
+    public static final int ROLE_NONE = 0;
+    public static final int ROLE_STARRING = 1;
+    public static final int ROLE_EXTRA = 2;
+
+    // Header layout
+    private static final int PLAYER_COUNT = 0;
+    private static final int COUNTER_COUNT = 1;
+    private static final int CURRENT_PLAYER = 2;
+    private static final int DAY = 3;
+    private static final int SCENES_WRAPPED = 4;
+    private static final int GAME_OVER = 5;
+    private static final int SCENE_ID = 6;
+    private static final int SCENE_ACTIVE = 7;
+    private static final int ROLES_TAKEN = 8;
+    private static final int ROLES_ACTED = 9;
+    private static final int HEADER_SIZE = 10;
+
+    // Per player layout
+    private static final int CASH = 0;
+    private static final int CREDITS = 1;
+    private static final int RANK = 2;
+    private static final int REHEARSAL = 3;
+    private static final int ROOM = 4;
+    private static final int SLOT = 5;
+    private static final int ROLE = 6;
+    private static final int PLAYER_FIELDS = 7;
+
+    private WireCodec() {
+    }
+
+    public static void writeAction(VarintWriter out, int action) {
+        out.writeUnsigned(LegalActions.typeOf(action));
+        out.writeUnsigned(LegalActions.argumentOf(action));
+    }
+
+    public static int readAction(VarintReader in) {
+        int type = in.readUnsigned();
+        int argument = in.readUnsigned();
+        if (type < LegalActions.MOVE || type > LegalActions.END) {
+            throw new IllegalArgumentException("Unknown action type " + type);
+        }
+        if (argument > 0xFFFF) {
+            throw new IllegalArgumentException("Action argument out of range: " + argument);
+        }
+        return LegalActions.encode(type, argument);
+    }
+
+    /**
+     * Sending side for one receiver. Reads the controller's view models, so
+     * call it where the game is not changing under it, such as in an
+     * observer callback or an action passed to GameController.submit.
+     */
+    public static final class Encoder {
+        private final GameController controller;
+        private final Map<String, Integer> roomIndices;
+        private final VarintWriter out;
+        private int[] sent;
+        private int sequence;
+
+        public Encoder(GameController controller) {
+            this.controller = controller;
+            this.roomIndices = new HashMap<>();
+            GameBoard gameBoard = controller.getGameBoard();
+            for (int i = 0; i < gameBoard.getRoomCount(); i++) {
+                roomIndices.put(gameBoard.getRoomAt(i).getRoomID().toLowerCase(), i);
+            }
+            this.out = new VarintWriter(64);
+        }
+
+        /**
+         * Encodes the current state against the last frame, a full frame
+         * for the first call and after resync
+         */
+        public byte[] encode() {
+            int[] state = capture();
+            out.reset();
+            sequence++;
+            if (sent == null || sent.length != state.length) {
+                out.writeUnsigned(FULL);
+                out.writeUnsigned(sequence);
+                out.writeUnsigned(state.length);
+                for (int value : state) {
+                    out.writeSigned(value);
+                }
+            } else {
+                out.writeUnsigned(DELTA);
+                out.writeUnsigned(sequence);
+                int changes = 0;
+                for (int i = 0; i < state.length; i++) {
+                    if (state[i] != sent[i]) {
+                        changes++;
+                    }
+                }
+                out.writeUnsigned(changes);
+                int last = -1;
+                for (int i = 0; i < state.length; i++) {
+                    if (state[i] != sent[i]) {
+                        out.writeUnsigned(i - last - 1);
+                        out.writeSigned(state[i] - sent[i]);
+                        last = i;
+                    }
+                }
+            }
+            sent = state;
+            return out.toByteArray();
+        }
+
+        // Makes the next frame a full one, for a receiver that lost track
+        public void resync() {
+            sent = null;
+        }
+
+        // Sequence number of the last frame encoded
+        public int getSequence() {
+            return sequence;
+        }
+
+        private int[] capture() {
+            List<GameController.PlayerViewModel> players = controller.getAllPlayersViewModels();
+            GameController.BoardViewModel board = controller.getBoardViewModel();
+            GameController.SceneViewModel scene = controller.getCurrentSceneViewModel();
+            GameController.DayProgressViewModel day = controller.getDayProgressViewModel();
+            List<GameController.ShotCounterViewModel> counters = board.getShotCounters();
+
+            int countersAt = HEADER_SIZE + players.size() * PLAYER_FIELDS;
+            int[] state = new int[countersAt + counters.size()];
+            state[PLAYER_COUNT] = players.size();
+            state[COUNTER_COUNT] = counters.size();
+            state[CURRENT_PLAYER] = board.getCurrentPlayerId();
+            state[DAY] = day.getCurrentDay();
+            state[SCENES_WRAPPED] = day.getScenesWrapped();
+            state[GAME_OVER] = controller.isGameOver() ? 1 : 0;
+            state[SCENE_ID] = -1;
+            if (scene != null && scene.getSceneName() != null) {
+                state[SCENE_ID] = scene.getSceneId();
+                state[SCENE_ACTIVE] = scene.isActive() ? 1 : 0;
+                int bit = 0;
+                for (GameController.RoleViewModel role : scene.getStarringRoles()) {
+                    markRole(state, role, bit++);
+                }
+                for (GameController.RoleViewModel role : scene.getExtraRoles()) {
+                    markRole(state, role, bit++);
+                }
+            }
+
+            for (int seat = 0; seat < players.size(); seat++) {
+                GameController.PlayerViewModel player = players.get(seat);
+                int at = HEADER_SIZE + seat * PLAYER_FIELDS;
+                state[at + CASH] = player.getCash();
+                state[at + CREDITS] = player.getCredits();
+                state[at + RANK] = player.getRank();
+                state[at + REHEARSAL] = player.getRehearsalBonus();
+                state[at + ROOM] = -1;
+                if (player.getCurrentRole() != null) {
+                    state[at + ROLE] = player.isRoleExtra() ? ROLE_EXTRA : ROLE_STARRING;
+                }
+            }
+            for (GameController.PlayerTokenViewModel token : board.getPlayerTokens()) {
+                int seat = seatOf(players, token.getPlayerId());
+                if (seat >= 0) {
+                    int at = HEADER_SIZE + seat * PLAYER_FIELDS;
+                    state[at + ROOM] = roomIndices.getOrDefault(token.getRoomId(), -1);
+                    state[at + SLOT] = token.getSlot();
+                }
+            }
+
+            for (int i = 0; i < counters.size(); i++) {
+                GameController.ShotCounterViewModel counter = counters.get(i);
+                state[countersAt + i] = counter.isVisible() ? counter.getShotsRemaining() : -1;
+            }
+            return state;
+        }
+
+        private static void markRole(int[] state, GameController.RoleViewModel role, int bit) {
+            if (bit >= Integer.SIZE) {
+                return;
+            }
+            if (role.isTaken()) {
+                state[ROLES_TAKEN] |= 1 << bit;
+            }
+            if (role.isActed()) {
+                state[ROLES_ACTED] |= 1 << bit;
+            }
+        }
+
+        private static int seatOf(List<GameController.PlayerViewModel> players, int playerId) {
+            for (int seat = 0; seat < players.size(); seat++) {
+                if (players.get(seat).getPlayerId() == playerId) {
+                    return seat;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Receiving side, rebuilds the state from the frames of one Encoder
+     */
+    public static final class Decoder {
+        private int[] state;
+        private int sequence;
+
+        /**
+         * Applies a frame. A delta that does not follow the last frame
+         * applied, or arrives before any full frame, is ignored.
+         *
+         * @return false if the frame was ignored and the sender should resync
+         */
+        public boolean apply(byte[] frame) {
+            VarintReader in = new VarintReader(frame);
+            int kind = in.readUnsigned();
+            int frameSequence = in.readUnsigned();
+            if (kind == FULL) {
+                int length = in.readUnsigned();
+                if (length < HEADER_SIZE) {
+                    throw new IllegalArgumentException("Full frame of " + length + " values is too short");
+                }
+                int[] values = new int[length];
+                for (int i = 0; i < length; i++) {
+                    values[i] = in.readSigned();
+                }
+                if (values[PLAYER_COUNT] < 0 || values[COUNTER_COUNT] < 0
+                        || HEADER_SIZE + (long) values[PLAYER_COUNT] * PLAYER_FIELDS + values[COUNTER_COUNT] != length) {
+                    throw new IllegalArgumentException("Full frame layout does not match its length " + length);
+                }
+                state = values;
+            } else if (kind == DELTA) {
+                if (state == null || frameSequence != sequence + 1) {
+                    return false;
+                }
+                int[] values = state.clone();
+                int changes = in.readUnsigned();
+                int index = -1;
+                for (int i = 0; i < changes; i++) {
+                    index += in.readUnsigned() + 1;
+                    // The counts fix the layout, only a full frame changes them
+                    if (index <= COUNTER_COUNT || index >= values.length) {
+                        throw new IllegalArgumentException("Delta index " + index + " out of range");
+                    }
+                    values[index] += in.readSigned();
+                }
+                state = values;
+            } else {
+                throw new IllegalArgumentException("Unknown frame kind " + kind);
+            }
+            sequence = frameSequence;
+            return true;
+        }
+
+        // Whether a full frame has arrived yet
+        public boolean hasState() {
+            return state != null;
+        }
+
+        public int getSequence() {
+            return sequence;
+        }
+
+        public int getPlayerCount() {
+            return header(PLAYER_COUNT);
+        }
+
+        public int getCurrentPlayerId() {
+            return header(CURRENT_PLAYER);
+        }
+
+        public int getCurrentDay() {
+            return header(DAY);
+        }
+
+        public int getScenesWrapped() {
+            return header(SCENES_WRAPPED);
+        }
+
+        public boolean isGameOver() {
+            return header(GAME_OVER) != 0;
+        }
+
+        // Scene ID of the card in the current player's room, -1 for none
+        public int getSceneId() {
+            return header(SCENE_ID);
+        }
+
+        public boolean isSceneActive() {
+            return header(SCENE_ACTIVE) != 0;
+        }
+
+        // Role index counts the scene's starring roles first, then the extras
+        public boolean isRoleTaken(int roleIndex) {
+            return (header(ROLES_TAKEN) >>> roleIndex & 1) != 0;
+        }
+
+        public boolean isRoleActed(int roleIndex) {
+            return (header(ROLES_ACTED) >>> roleIndex & 1) != 0;
+        }
+
+        public int getCash(int seat) {
+            return player(seat, CASH);
+        }
+
+        public int getCredits(int seat) {
+            return player(seat, CREDITS);
+        }
+
+        public int getRank(int seat) {
+            return player(seat, RANK);
+        }
+
+        public int getRehearsalBonus(int seat) {
+            return player(seat, REHEARSAL);
+        }
+
+        // GameBoard room index of the player's token, -1 if not on the board
+        public int getRoomIndex(int seat) {
+            return player(seat, ROOM);
+        }
+
+        public int getSlot(int seat) {
+            return player(seat, SLOT);
+        }
+
+        // ROLE_NONE, ROLE_STARRING or ROLE_EXTRA
+        public int getRole(int seat) {
+            return player(seat, ROLE);
+        }
+
+        public int getShotCounterCount() {
+            return header(COUNTER_COUNT);
+        }
+
+        // Shots left on a scene room's counter, -1 while the counter is hidden
+        public int getShotsRemaining(int counter) {
+            if (counter < 0 || counter >= getShotCounterCount()) {
+                throw new IllegalArgumentException("No shot counter " + counter);
+            }
+            return state[HEADER_SIZE + state[PLAYER_COUNT] * PLAYER_FIELDS + counter];
+        }
+
+        // Copy of the decoded values in wire layout
+        public int[] toArray() {
+            return state != null ? state.clone() : new int[0];
+        }
+
+        private int header(int field) {
+            if (state == null) {
+                throw new IllegalStateException("No full frame received yet");
+            }
+            return state[field];
+        }
+
+        private int player(int seat, int field) {
+            if (seat < 0 || seat >= getPlayerCount()) {
+                throw new IllegalArgumentException("No player in seat " + seat);
+            }
+            return state[HEADER_SIZE + seat * PLAYER_FIELDS + field];
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package deadwood.model;
+
+/**
+ * Precomputed odds for acting on a role, so callers can look up chances and
+ * expected payouts instead of rolling dice to estimate them.
+ *
+ * An acting attempt succeeds when a d6 roll plus the rehearsal bonus reaches
+ * the budget (the scene budget for starring roles, the set's extra role
+ * budget for extras). A failed attempt pays nothing and keeps the rehearsal
+ * bonus. Rehearsing is allowed while the bonus is below the scene budget
+ * minus one, see Actor.inputRehearse.
+ *
+ * All tables are filled once when the class loads and are never modified.
+ */
+public final class ActingOdds {
+    public static final int ACT = 0;
+    public static final int REHEARSE = 1;
+
+    // Largest budget and rehearsal bonus covered by the tables
+    public static final int MAX_BUDGET = 12;
+    public static final int MAX_REHEARSAL = 6;
+
+    private static final int DIE_FACES = 6;
+
+    // Payout of a successful attempt, matching PointTracker.awardActingPoints
+    private static final int STARRING_CREDITS = 2;
+    private static final int EXTRA_CASH = 1;
+    private static final int EXTRA_CREDITS = 1;
+
+    // [budget][rehearsal]
+    private static final double[][] SUCCESS = new double[MAX_BUDGET + 1][MAX_REHEARSAL + 1];
+
+    // [budget][rehearsal limit][rehearsal], expected turns to succeed when playing optimally
+    private static final double[][][] TURNS = new double[MAX_BUDGET + 1][MAX_REHEARSAL + 1][MAX_REHEARSAL + 1];
+
+    // [budget][rehearsal limit][rehearsal], ACT or REHEARSE
+    private static final byte[][][] ADVICE = new byte[MAX_BUDGET + 1][MAX_REHEARSAL + 1][MAX_REHEARSAL + 1];
+
+    static {
+        for (int budget = 0; budget <= MAX_BUDGET; budget++) {
+            for (int rehearsal = 0; rehearsal <= MAX_REHEARSAL; rehearsal++) {
+                // Rolls of (budget - rehearsal) or more succeed
+                int faces = DIE_FACES + 1 - (budget - rehearsal);
+                SUCCESS[budget][rehearsal] = Math.max(0, Math.min(DIE_FACES, faces)) / (double) DIE_FACES;
+            }
+
+            // Acting again after a failure leaves the state unchanged, so from
+            // each bonus either keep acting (1/p turns) or rehearse once more
+            for (int limit = 0; limit <= MAX_REHEARSAL; limit++) {
+                for (int rehearsal = MAX_REHEARSAL; rehearsal >= 0; rehearsal--) {
+                    double p = SUCCESS[budget][rehearsal];
+                    double act = p > 0 ? 1 / p : Double.POSITIVE_INFINITY;
+                    double rehearse = rehearsal < limit
+                        ? 1 + TURNS[budget][limit][rehearsal + 1] : Double.POSITIVE_INFINITY;
+
+                    // Ties go to acting, it pays out sooner
+                    if (rehearse < act) {
+                        TURNS[budget][limit][rehearsal] = rehearse;
+                        ADVICE[budget][limit][rehearsal] = REHEARSE;
+                    } else {
+                        TURNS[budget][limit][rehearsal] = act;
+                        ADVICE[budget][limit][rehearsal] = ACT;
+                    }
+                }
+            }
+        }
+    }
+
+    private ActingOdds() {
+    }
+
+    /**
+     * Chance that a single acting attempt succeeds
+     *
+     * @param budget Budget the roll is compared against
+     * @param rehearsal Current rehearsal bonus
+     */
+    public static double successChance(int budget, int rehearsal) {
+        checkRange(budget, rehearsal);
+        return SUCCESS[budget][rehearsal];
+    }
+
+    /**
+     * Expected cash from a single acting attempt
+     */
+    public static double expectedCash(int budget, int rehearsal, boolean isExtra) {
+        return isExtra ? successChance(budget, rehearsal) * EXTRA_CASH : 0;
+    }
+
+    /**
+     * Expected credits from a single acting attempt
+     */
+    public static double expectedCredits(int budget, int rehearsal, boolean isExtra) {
+        return successChance(budget, rehearsal) * (isExtra ? EXTRA_CREDITS : STARRING_CREDITS);
+    }
+
+    /**
+     * Expected points (cash plus credits) from a single acting attempt
+     */
+    public static double expectedPayout(int budget, int rehearsal, boolean isExtra) {
+        return expectedCash(budget, rehearsal, isExtra) + expectedCredits(budget, rehearsal, isExtra);
+    }
+
+    /**
+     * Expected number of turns until the role is acted successfully when
+     * following recommend, infinite if it can never succeed
+     *
+     * @param budget Budget the roll is compared against
+     * @param rehearsalLimit Highest rehearsal bonus that can be reached
+     * @param rehearsal Current rehearsal bonus
+     */
+    public static double expectedTurns(int budget, int rehearsalLimit, int rehearsal) {
+        checkRange(budget, rehearsal);
+        return TURNS[budget][clampLimit(rehearsalLimit)][rehearsal];
+    }
+
+    /**
+     * Whether acting or rehearsing gets the role done in the fewest expected turns
+     *
+     * @param budget Budget the roll is compared against
+     * @param rehearsalLimit Highest rehearsal bonus that can be reached
+     * @param rehearsal Current rehearsal bonus
+     * @return ACT or REHEARSE
+     */
+    public static int recommend(int budget, int rehearsalLimit, int rehearsal) {
+        checkRange(budget, rehearsal);
+        return ADVICE[budget][clampLimit(rehearsalLimit)][rehearsal];
+    }
+
+    public static boolean shouldRehearse(int budget, int rehearsalLimit, int rehearsal) {
+        return recommend(budget, rehearsalLimit, rehearsal) == REHEARSE;
+    }
+
+    /**
+     * Budget an acting attempt on the set is compared against
+     */
+    public static int actingBudget(Set set, boolean isExtra) {
+        if (isExtra) {
+            return set.getExtraRoleBudget();
+        }
+        return set.getRoleCard() != null ? set.getRoleCard().getSceneBudget() : 0;
+    }
+
+    /**
+     * Highest rehearsal bonus a player can build up on the set
+     */
+    public static int rehearsalLimit(Set set) {
+        RoleCard roleCard = set.getRoleCard();
+        return roleCard != null ? Math.max(0, roleCard.getSceneBudget() - 1) : 0;
+    }
+
+    /**
+     * Recommendation for a player working a role on the set
+     *
+     * @return ACT or REHEARSE
+     */
+    public static int recommend(Set set, boolean isExtra, int rehearsal) {
+        int limit = rehearsalLimit(set);
+        return recommend(actingBudget(set, isExtra), limit, Math.min(rehearsal, MAX_REHEARSAL));
+    }
+
+    private static int clampLimit(int rehearsalLimit) {
+        return Math.max(0, Math.min(MAX_REHEARSAL, rehearsalLimit));
+    }
+
+    private static void checkRange(int budget, int rehearsal) {
+        if (budget < 0 || budget > MAX_BUDGET || rehearsal < 0 || rehearsal > MAX_REHEARSAL) {
+            throw new IllegalArgumentException("No acting odds for budget " + budget + " with rehearsal " + rehearsal);
+        }
+    }
+}
@@ -10,28 +10,50 @@ import deadwood.model.Set;
 import deadwood.model.RoleCard.Role;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+import deadwood.util.ConsoleMessageSink;
+import deadwood.util.GameMessageSink;
+import deadwood.util.GameMessageSink.Type;
 
 public class Actor {
     private int playerID;
     private int currentRank;
     private String currentRole;
+    // Index of the current role on its set, -1 without a role
+    private int currentRoleIndex;
     private PlayerLocation location;
     private PointTracker points;
     private boolean isExtraRole;
+    private SplittableRandom random;
+    private GameMessageSink messages;
     
     // Constructor
     public Actor(int id, int rank) {
+        this(id, rank, new SplittableRandom());
+    }
+
+    // Constructor with the game's random source, used for every dice roll
+    public Actor(int id, int rank, SplittableRandom random) {
+        this(id, rank, random, new ConsoleMessageSink());
+    }
+
+    // Constructor with the game's random source and the sink for this player's messages
+    public Actor(int id, int rank, SplittableRandom random, GameMessageSink messages) {
         this.playerID = id;
         this.currentRank = rank;
         this.currentRole = null;
+        this.currentRoleIndex = -1;
         this.points = new PointTracker();
-        this.location = new PlayerLocation(id);
+        this.location = new PlayerLocation(id, messages);
         this.isExtraRole = false;
+        this.random = random;
+        this.messages = messages;
     }
     
     public boolean inputMove(String destinationRoomID, GameBoard gameBoard) {
         if (location.getCurrentRoom() == null) {
-            System.out.println("Error: Player not in a valid room.");
+            say(Type.MOVE, "Error: Player not in a valid room.");
             return false;
         }
         
@@ -40,46 +62,22 @@ public class Actor {
         
         Room currentRoom = location.getCurrentRoom();
     
-        // Get and normalize adjacent room names
-        List<String> adjacentRoomNames = currentRoom.getAdjacentRooms();
-        
-        List<String> normalizedNeighbors = new ArrayList<>();
-        for (String neighbor : adjacentRoomNames) {
-            normalizedNeighbors.add(neighbor.toLowerCase());
-        }
-        
-        // Check if destination is valid
-        if (!normalizedNeighbors.contains(destinationRoomID.toLowerCase())) {
-            System.out.println("Invalid destination. " + destinationRoomID + " is not adjacent to " + 
-                currentRoom.getRoomID());
-            return false;
-        }
-        
-        // Find the destination room (case insensitive)
-        Room destinationRoom = null;
-
-        // First try exact match
-        destinationRoom = gameBoard.getRoomByID(destinationRoomID.toLowerCase());
-        
-        if (destinationRoom == null) {
-            // If exact match fails, try to find a case-insensitive match
-            for (String roomName : gameBoard.getAllRoomNames()) {
-                if (roomName.equalsIgnoreCase(destinationRoomID)) {
-                    destinationRoom = gameBoard.getRoomByID(roomName);
-                    break;
-                }
+        // Rooms resolve by key or display name in any case, the check is one bit test
+        int destinationIndex = gameBoard.resolveRoomIndex(destinationRoomID);
+        if (!gameBoard.isAdjacent(gameBoard.getRoomIndex(currentRoom), destinationIndex)) {
+            if (messages.isEnabled(Type.MOVE)) {
+                say(Type.MOVE, "Invalid destination. " + destinationRoomID + " is not adjacent to " + 
+                    currentRoom.getRoomID());
             }
-        }
-        
-        // If destination was not inputted
-        if (destinationRoom == null) {
-            System.out.println("Error: Cannot find room " + destinationRoomID);
             return false;
         }
+        Room destinationRoom = gameBoard.getRoomAt(destinationIndex);
         
         // Update player location to the new room
         location.updatePlayerLocation(destinationRoom);
-        System.out.println("You moved to " + destinationRoom.getRoomID() + ".");
+        if (messages.isEnabled(Type.MOVE)) {
+            say(Type.MOVE, "You moved to " + destinationRoom.getRoomID() + ".");
+        }
 
          // Reset rehearsal bonus when moving to a different room
         points.resetRehearsalBonus();
@@ -91,79 +89,93 @@ public class Actor {
     
 
     public boolean inputRole(String roleName) {
-        // Get current room's set information
-        Room currentRoom = location.getCurrentRoom();
-        Set currentSet = currentRoom.getSet();
-        
-        if (currentSet == null) {
-            System.out.println("No set in this room.");
+        Set currentSet = location.getCurrentRoom().getSet();
+        if (!canTakeRole(currentSet)) {
             return false;
         }
         
-        if (!currentSet.isActive()) {
-            System.out.println("The scene in this room has wrapped. No roles available.");
+        // Starring roles win over extra roles with the same name
+        int roleIndex = currentSet.getRoleIndex(roleName);
+        if (roleIndex < 0) {
+            if (messages.isEnabled(Type.ROLE)) {
+                say(Type.ROLE, "Role '" + roleName + "' not found in this scene.");
+            }
             return false;
         }
-        
-        // If already in a role
-        if (currentRole != null) {
-            System.out.println("You're already working as " + currentRole + ". Finish or abandon this role first.");
+        return takeRole(currentSet, roleIndex);
+    }
+
+    /**
+     * Takes a role by its index on the current set
+     *
+     * @param roleIndex Position of the role in Set.getAllRoles order
+     * @return true if the player now works the role
+     */
+    public boolean inputRole(int roleIndex) {
+        Set currentSet = location.getCurrentRoom().getSet();
+        if (!canTakeRole(currentSet)) {
             return false;
         }
         
-        // Get the role card and find the requested role
-        RoleCard roleCard = currentSet.getRoleCard();
-        RoleCard extraRolesCard = currentSet.getExtraRolesCard();
-        RoleCard.Role role = null;
-        boolean isExtraRole = false;
-        
-        // First search in the main scene roles
-        if (roleCard != null) {
-            for (RoleCard.Role r : roleCard.getSceneRoles()) {
-                if (r.getName().equalsIgnoreCase(roleName)) {
-                    role = r;
-                    break;
-                }
+        if (currentSet.getRoleAt(roleIndex) == null) {
+            if (messages.isEnabled(Type.ROLE)) {
+                say(Type.ROLE, "Role #" + roleIndex + " not found in this scene.");
             }
+            return false;
+        }
+        return takeRole(currentSet, roleIndex);
+    }
+
+    // Checks everything about the player and set that does not depend on the role
+    private boolean canTakeRole(Set currentSet) {
+        if (currentSet == null) {
+            say(Type.ROLE, "No set in this room.");
+            return false;
         }
         
-        // If not found in main roles, search in extra roles
-        if (role == null && extraRolesCard != null) {
-            for (RoleCard.Role r : extraRolesCard.getSceneRoles()) {
-                if (r.getName().equalsIgnoreCase(roleName)) {
-                    role = r;
-                    isExtraRole = true;
-                    break;
-                }
-            }
+        if (!currentSet.isActive()) {
+            say(Type.ROLE, "The scene in this room has wrapped. No roles available.");
+            return false;
         }
         
-        // Role not found
-        if (role == null) {
-            System.out.println("Role '" + roleName + "' not found in this scene.");
+        // If already in a role
+        if (currentRole != null) {
+            if (messages.isEnabled(Type.ROLE)) {
+                say(Type.ROLE, "You're already working as " + currentRole + ". Finish or abandon this role first.");
+            }
             return false;
         }
+        return true;
+    }
+
+    private boolean takeRole(Set currentSet, int roleIndex) {
+        RoleCard.Role role = currentSet.getRoleAt(roleIndex);
         
         // Check rank requirements
         if (role.getLevel() > currentRank) {
-            System.out.println("Cannot take this role - your rank (" + currentRank + 
-                               ") is too low for " + role.getName() + " (rank " + role.getLevel() + ").");
+            if (messages.isEnabled(Type.ROLE)) {
+                say(Type.ROLE, "Cannot take this role - your rank (" + currentRank + 
+                                   ") is too low for " + role.getName() + " (rank " + role.getLevel() + ").");
+            }
             return false;
         }
         
         // Check if role is already taken
-        if (currentSet.isRoleTaken(role.getName())) {
-            System.out.println("This role is already taken by another player.");
+        if (currentSet.isRoleTaken(roleIndex)) {
+            say(Type.ROLE, "This role is already taken by another player.");
             return false;
         }
         
         // Take the role
         currentRole = role.getName();
-        this.isExtraRole = isExtraRole;
-        currentSet.assignRole(role.getName(), String.valueOf(playerID));
+        currentRoleIndex = roleIndex;
+        this.isExtraRole = currentSet.isExtraRole(roleIndex);
+        currentSet.assignRole(roleIndex, playerID);
         
-        System.out.println("Now working as " + role.getName() + " (rank " + role.getLevel() + ")");
-        System.out.println("Line: \"" + role.getLine() + "\"");
+        if (messages.isEnabled(Type.ROLE)) {
+            say(Type.ROLE, "Now working as " + role.getName() + " (rank " + role.getLevel() + ")");
+            say(Type.ROLE, "Line: \"" + role.getLine() + "\"");
+        }
         
         // Chosen role was successful return true
         return true;
@@ -171,7 +183,7 @@ public class Actor {
 
     public boolean inputAttemptScene(GameBoard gameBoard) {
         if (currentRole == null) {
-            System.out.println("Not currently in a role.");
+            say(Type.ACT, "Not currently in a role.");
             return false;
         }
         
@@ -180,19 +192,19 @@ public class Actor {
         Set currentSet = currentRoom.getSet();
         
         if (currentSet == null) {
-            System.out.println("No set in this room.");
+            say(Type.ACT, "No set in this room.");
             return false;
         }
         
         if (!currentSet.isActive()) {
-            System.out.println("The scene in this room has wrapped. No acting can be done.");
+            say(Type.ACT, "The scene in this room has wrapped. No acting can be done.");
             return false;
         }
         
         // Check if this role has already been successfully acted
-        if (currentSet.hasRoleBeenActed(currentRole)) {
-            System.out.println("You've already successfully completed this role. You cannot act in it again.");
-            System.out.println("You may take a different role in this scene, move to another room, or end your turn.");
+        if (currentSet.hasRoleBeenActed(currentRoleIndex)) {
+            say(Type.ACT, "You've already successfully completed this role. You cannot act in it again.");
+            say(Type.ACT, "You may take a different role in this scene, move to another room, or end your turn.");
             return false;
         }
         
@@ -212,46 +224,51 @@ public class Actor {
             budget = roleCard.getSceneBudget();
         }
         
-        System.out.println("Acting attempt - You rolled: " + diceRoll + 
-                           (rehearsalBonus > 0 ? " + " + rehearsalBonus + " (rehearsal bonus)" : "") + 
-                           " = " + totalRoll + " vs Budget: " + budget);
+        if (messages.isEnabled(Type.ACT)) {
+            say(Type.ACT, "Acting attempt - You rolled: " + diceRoll + 
+                          (rehearsalBonus > 0 ? " + " + rehearsalBonus + " (rehearsal bonus)" : "") + 
+                          " = " + totalRoll + " vs Budget: " + budget);
+        }
         
         // If acting success
         if (totalRoll >= budget) {
-            System.out.println("Acting success!");
+            say(Type.ACT, "Acting success!");
             
             // Mark this role as successfully acted
-            currentSet.markRoleAsActed(currentRole);
+            currentSet.markRoleAsActed(currentRoleIndex);
+            if (messages.isEnabled(Type.ACT)) {
+                say(Type.ACT, "Role '" + currentRole + "' marked as completed. No further acting needed on this role.");
+            }
             
             // Award points based on role type
             points.awardActingPoints(true, isExtraRole);
     
             // For extra roles or starring roles, decrement the shot counter
             boolean sceneWrapped = currentSet.decrementShots();
+            if (messages.isEnabled(Type.ACT)) {
+                say(Type.ACT, "Shot completed! " + currentSet.getShotCounter() + " shots remaining.");
+            }
             
             // If the scene is now wrapped, complete it
             if (sceneWrapped) {
-                System.out.println("Scene wrapped in " + currentRoom.getRoomID() + "!");
+                if (messages.isEnabled(Type.SCENE_WRAP)) {
+                    say(Type.SCENE_WRAP, "Scene wrapped in " + currentRoom.getRoomID() + "!");
+                }
                 
-                // Award bonuses to all players in the scene
-                gameBoard.awardSceneBonusesToPlayers(currentRoom, currentSet, this, currentRole);
+                // Award bonuses to all players in the scene, this also frees their roles
+                gameBoard.awardSceneBonusesToPlayers(currentRoom, currentSet);
                 currentRoom.completeScene();
-                
-                // Reset the player's role now that the scene is complete
-                currentRole = null;
-                isExtraRole = false;
-                points.resetRehearsalBonus();
             } else {
                 // Important: Let player know they completed the role but the scene continues
-                System.out.println("You've successfully completed your role, but the scene continues.");
-                System.out.println("You may take a different role in this scene or move to another room on your next turn.");
+                say(Type.ACT, "You've successfully completed your role, but the scene continues.");
+                say(Type.ACT, "You may take a different role in this scene or move to another room on your next turn.");
             }
             
             return true;
         }
         else {
             // Acting failed
-            System.out.println("Acting failed.");
+            say(Type.ACT, "Acting failed.");
             points.awardActingPoints(false, isExtraRole);
             return false;
         }
@@ -272,31 +289,16 @@ public class Actor {
         
         List<RoleCard.Role> availableRoles = new ArrayList<>();
         
-        // Check for main scene roles
-        RoleCard roleCard = currentSet.getRoleCard();
-        if (roleCard != null) {
-            for (RoleCard.Role role : roleCard.getSceneRoles()) {
-                // Check if role is appropriate for player rank, not taken, and not already acted
-                if (role.getLevel() <= this.currentRank && 
-                    !currentSet.isRoleTaken(role.getName()) &&
-                    !currentSet.hasRoleBeenActed(role.getName())) {
-                    
-                    availableRoles.add(role);
-                }
-            }
-        }
-        
-        // Check for extra roles
-        RoleCard extraRolesCard = currentSet.getExtraRolesCard();
-        if (extraRolesCard != null) {
-            for (RoleCard.Role role : extraRolesCard.getSceneRoles()) {
-                // Check if role is appropriate for player rank, not taken, and not already acted
-                if (role.getLevel() <= this.currentRank && 
-                    !currentSet.isRoleTaken(role.getName()) &&
-                    !currentSet.hasRoleBeenActed(role.getName())) {
-                    
-                    availableRoles.add(role);
-                }
+        // Starring roles come first, then extra roles
+        List<RoleCard.Role> roles = currentSet.getAllRoles();
+        for (int i = 0; i < roles.size(); i++) {
+            RoleCard.Role role = roles.get(i);
+            // Check if role is appropriate for player rank, not taken, and not already acted
+            if (role.getLevel() <= this.currentRank && 
+                !currentSet.isRoleTaken(i) &&
+                !currentSet.hasRoleBeenActed(i)) {
+                
+                availableRoles.add(role);
             }
         }
         return availableRoles;
@@ -304,7 +306,7 @@ public class Actor {
 
     public boolean inputRehearse() {
         if (currentRole == null) {
-            System.out.println("Not currently in a role.");
+            say(Type.REHEARSE, "Not currently in a role.");
             return false;
         }
         
@@ -313,18 +315,18 @@ public class Actor {
         Set currentSet = currentRoom.getSet();
         
         if (currentSet == null) {
-            System.out.println("No set in this room.");
+            say(Type.REHEARSE, "No set in this room.");
             return false;
         }
         
         if (!currentSet.isActive()) {
-            System.out.println("The scene in this room has wrapped. No rehearsal can be done.");
+            say(Type.REHEARSE, "The scene in this room has wrapped. No rehearsal can be done.");
             return false;
         }
         
         // Check if this role has already been successfully acted
-        if (currentSet.hasRoleBeenActed(currentRole)) {
-            System.out.println("You've already completed acting for this role. No need to rehearse.");
+        if (currentSet.hasRoleBeenActed(currentRoleIndex)) {
+            say(Type.REHEARSE, "You've already completed acting for this role. No need to rehearse.");
             return false;
         }
         
@@ -334,8 +336,10 @@ public class Actor {
         int currentBonus = points.getRehearsalBonus();
         
         if (currentBonus >= budget - 1) {
-            System.out.println("You already have the maximum rehearsal bonus for this scene (+" + currentBonus + ").");
-            System.out.println("Your bonus is sufficient - time to act instead!");
+            if (messages.isEnabled(Type.REHEARSE)) {
+                say(Type.REHEARSE, "You already have the maximum rehearsal bonus for this scene (+" + currentBonus + ").");
+                say(Type.REHEARSE, "Your bonus is sufficient - time to act instead!");
+            }
             return false;
         }
         
@@ -343,11 +347,13 @@ public class Actor {
         boolean added = points.addRehearsalToken();
         
         if (added) {
-            System.out.println("Rehearsal successful. Current bonus: +" + points.getRehearsalBonus());
+            if (messages.isEnabled(Type.REHEARSE)) {
+                say(Type.REHEARSE, "Rehearsal successful. Current bonus: +" + points.getRehearsalBonus());
+            }
             return true;
         } 
         else {
-            System.out.println("You've reached the maximum rehearsal bonus. No more rehearsal is possible.");
+            say(Type.REHEARSE, "You've reached the maximum rehearsal bonus. No more rehearsal is possible.");
             return false;
         }
     }
@@ -358,32 +364,34 @@ public class Actor {
     
         // Not in casting office
         if (!(currentRoom instanceof CastingOffice)) {
-            System.out.println("Must be in Casting Office to upgrade.");
+            say(Type.UPGRADE, "Must be in Casting Office to upgrade.");
             return false;
         }
         
         // Check if player is in a role
         if (currentRole != null) {
-            System.out.println("You cannot upgrade while working on a role. Finish or leave your role first.");
+            say(Type.UPGRADE, "You cannot upgrade while working on a role. Finish or leave your role first.");
             return false;
         }
         
         // Validate rank upgrade (can't downgrade or stay at same rank)
         if (targetRank <= currentRank) {
-            System.out.println("Cannot upgrade to rank " + targetRank + ". Must be higher than your current rank (" + currentRank + ").");
+            if (messages.isEnabled(Type.UPGRADE)) {
+                say(Type.UPGRADE, "Cannot upgrade to rank " + targetRank + ". Must be higher than your current rank (" + currentRank + ").");
+            }
             return false;
         }
         
         // Check if rank is valid
         if (targetRank < 1 || targetRank > 6) {
-            System.out.println("Invalid rank. Valid ranks are 1 to 6.");
+            say(Type.UPGRADE, "Invalid rank. Valid ranks are 1 to 6.");
             return false;
         }
         
         // Normalize payment type
         paymentType = paymentType.toLowerCase();
         if (!paymentType.equals("cash") && !paymentType.equals("credit")) {
-            System.out.println("Invalid payment type. Use 'cash' or 'credit'.");
+            say(Type.UPGRADE, "Invalid payment type. Use 'cash' or 'credit'.");
             return false;
         }
         
@@ -397,10 +405,12 @@ public class Actor {
             // Update player rank
             currentRank = targetRank;
             
-            System.out.println("Successfully upgraded to rank " + targetRank + "!");
+            if (messages.isEnabled(Type.UPGRADE)) {
+                say(Type.UPGRADE, "Successfully upgraded to rank " + targetRank + "!");
+            }
             
             return true;
-        } else {
+        } else if (messages.isEnabled(Type.UPGRADE)) {
             // Get the appropriate price for better error messages
             int price = -1;
             if (targetRank >= 2 && targetRank <= 6) {
@@ -445,16 +455,18 @@ public class Actor {
             // Provide more specific error message
             if (price > 0) {
                 if (paymentType.equals("cash")) {
-                    System.out.println("Cannot upgrade - insufficient funds. Rank " + targetRank + " costs $" + price + 
+                    say(Type.UPGRADE, "Cannot upgrade - insufficient funds. Rank " + targetRank + " costs $" + price + 
                                        ", but you only have $" + points.getPlayerCash() + ".");
                 } else {
-                    System.out.println("Cannot upgrade - insufficient credits. Rank " + targetRank + " costs " + price + 
+                    say(Type.UPGRADE, "Cannot upgrade - insufficient credits. Rank " + targetRank + " costs " + price + 
                                        " credits, but you only have " + points.getPlayerCredit() + " credits.");
                 }
             } else {
-                System.out.println("Cannot upgrade - insufficient funds or invalid rank.");
+                say(Type.UPGRADE, "Cannot upgrade - insufficient funds or invalid rank.");
             }
             
+            return false;
+        } else {
             return false;
         }
     }
@@ -480,7 +492,7 @@ public class Actor {
         }
         
         // Check if this role has been acted (completed)
-        return currentSet.hasRoleBeenActed(currentRole);
+        return currentSet.hasRoleBeenActed(currentRoleIndex);
     }
 
     /**
@@ -496,7 +508,7 @@ public class Actor {
         
         // Check if role is completed before allowing abandonment
         if (!isCurrentRoleCompleted()) {
-            System.out.println("Cannot abandon an incomplete role. You must act or rehearse.");
+            say(Type.ROLE, "Cannot abandon an incomplete role. You must act or rehearse.");
             return false;
         }
         
@@ -512,19 +524,25 @@ public class Actor {
             // Just reset player state
             String abandonedRole = currentRole;
             currentRole = null;
+            currentRoleIndex = -1;
             this.isExtraRole = false;
             points.resetRehearsalBonus();
-            System.out.println("Role was abandoned: " + abandonedRole);
+            if (messages.isEnabled(Type.ROLE)) {
+                say(Type.ROLE, "Role was abandoned: " + abandonedRole);
+            }
             return true;
         }
         
         // Release the role in the set
-        currentSet.releaseRole(currentRole);
-        System.out.println("Abandoning completed role: " + currentRole);
+        currentSet.releaseRole(currentRoleIndex);
+        if (messages.isEnabled(Type.ROLE)) {
+            say(Type.ROLE, "Abandoning completed role: " + currentRole);
+        }
         
         // Reset player role
         String abandonedRole = currentRole;
         currentRole = null;
+        currentRoleIndex = -1;
         this.isExtraRole = false;
         
         // Reset rehearsal bonus when abandoning role
@@ -580,9 +598,45 @@ public class Actor {
     }
 
     
+    // Reports a message about this player
+    private void say(Type type, String text) {
+        messages.message(type, playerID, text);
+    }
+
     // Helper method for dice rolling
     private int rollDice() {
-        return (int) (Math.random() * 6) + 1;
+        return random.nextInt(1, 7);
+    }
+    
+    /**
+     * Overwrites rank and role, used when restoring a snapshot. The role
+     * has to be assigned on the set separately.
+     * 
+     * @param rank The player's rank
+     * @param set The set the role is on, ignored without a role
+     * @param roleIndex Index of the role on the set, -1 for none
+     */
+    public void restoreState(int rank, Set set, int roleIndex) {
+        RoleCard.Role role = set != null ? set.getRoleAt(roleIndex) : null;
+        this.currentRank = rank;
+        this.currentRole = role != null ? role.getName() : null;
+        this.currentRoleIndex = role != null ? roleIndex : -1;
+        this.isExtraRole = role != null && set.isExtraRole(roleIndex);
+    }
+    
+    /**
+     * Drops the current role and rehearsal bonus without touching the set,
+     * used when the scene wraps or the day ends
+     */
+    public void clearRole() {
+        currentRole = null;
+        currentRoleIndex = -1;
+        isExtraRole = false;
+        points.resetRehearsalBonus();
+    }
+
+    public boolean isExtraRole() {
+        return isExtraRole;
     }
     
     // Getters
@@ -598,6 +652,11 @@ public class Actor {
         return currentRole; 
     }
 
+    // Index of the current role on its set, -1 without a role
+    public int getCurrentRoleIndex() { 
+        return currentRoleIndex; 
+    }
+
     public PlayerLocation getLocation() { 
         return location; 
     }
@@ -3,6 +3,9 @@ package deadwood.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import deadwood.util.GameMessageSink;
+import deadwood.util.GameMessageSink.Type;
+
 
 public class CastingOffice extends Room {
     private List<Integer> upgradePriceCash;   
@@ -51,6 +54,16 @@ public class CastingOffice extends Room {
         }
     }
     
+    // Cash price of each upgrade, index is target rank - 2
+    public List<Integer> getUpgradePricesCash() {
+        return upgradePriceCash;
+    }
+    
+    // Credit price of each upgrade, index is target rank - 2
+    public List<Integer> getUpgradePricesCredit() {
+        return upgradePriceCredit;
+    }
+    
     public boolean validateUpgrade(int currentRank, int targetRank, String paymentType, PointTracker cost) {
         // Can't downgrade or stay at same rank
         if (targetRank <= currentRank) {
@@ -82,20 +95,20 @@ public class CastingOffice extends Room {
     public void checkOut(int currentRank, PointTracker cost, int targetRank, String paymentType) {
         // Can't downgrade or stay at same rank
         if (targetRank <= currentRank) {
-            System.out.println("Invalid upgrade selection. New rank must be higher than current rank.");
+            say("Invalid upgrade selection. New rank must be higher than current rank.");
             return;
         }
 
         // Can't upgrade beyond rank 6
         if (targetRank > 6) {
-            System.out.println("Invalid upgrade selection. Maximum rank is 6.");
+            say("Invalid upgrade selection. Maximum rank is 6.");
             return;
         }
         
         // Calculate price - index is target rank - 2
         int index = targetRank - 2;
         if (index < 0 || index >= upgradePriceCash.size()) {
-            System.out.println("Invalid target rank.");
+            say("Invalid target rank.");
             return;
         }
         
@@ -103,39 +116,52 @@ public class CastingOffice extends Room {
         if (paymentType.equals("cash")) {
             price = upgradePriceCash.get(index);
             if (cost.makePayment(price, false)) {
-                System.out.println("Paid $" + price + " to upgrade to rank " + targetRank);
+                if (messages.isEnabled(Type.UPGRADE)) {
+                    say("Paid $" + price + " to upgrade to rank " + targetRank);
+                }
             } else {
-                System.out.println("Not enough cash for this upgrade.");
+                say("Not enough cash for this upgrade.");
                 return;
             }
         } else {
             price = upgradePriceCredit.get(index);
             if (cost.makePayment(price, true)) {
-                System.out.println("Paid " + price + " credits to upgrade to rank " + targetRank);
+                if (messages.isEnabled(Type.UPGRADE)) {
+                    say("Paid " + price + " credits to upgrade to rank " + targetRank);
+                }
             } else {
-                System.out.println("Not enough credits for this upgrade.");
+                say("Not enough credits for this upgrade.");
                 return;
             }
         }
 
-        System.out.println("Upgrade successful! Now Rank: " + targetRank);
+        if (messages.isEnabled(Type.UPGRADE)) {
+            say("Upgrade successful! Now Rank: " + targetRank);
+        }
     }
     
     // Method to display upgrade costs
     public void displayUpgradeCosts() {
-        System.out.println("Available Upgrades at Casting Office:");
-        System.out.println("-------------------------------------");
-        System.out.println("Rank | Cash Price | Credit Price");
-        System.out.println("-------------------------------------");
+        if (!messages.isEnabled(Type.UPGRADE)) {
+            return;
+        }
+        say("Available Upgrades at Casting Office:");
+        say("-------------------------------------");
+        say("Rank | Cash Price | Credit Price");
+        say("-------------------------------------");
         
         for (int i = 0; i < upgradePriceCash.size(); i++) {
             int targetRank = i + 2; 
-            System.out.printf("%4d | $%9d | %11d credits%n", 
+            say(String.format("%4d | $%9d | %11d credits", 
                 targetRank, 
                 upgradePriceCash.get(i), 
-                upgradePriceCredit.get(i));
+                upgradePriceCredit.get(i)));
         }
-        System.out.println("-------------------------------------");
-        System.out.println("Use 'upgrade <rank> <cash/credit>' to upgrade your rank.");
+        say("-------------------------------------");
+        say("Use 'upgrade <rank> <cash/credit>' to upgrade your rank.");
+    }
+
+    private void say(String text) {
+        messages.message(Type.UPGRADE, GameMessageSink.NO_PLAYER, text);
     }
-}
\ No newline at end of file
+}
@@ -6,6 +6,8 @@ import deadwood.model.Actor;
 import deadwood.model.Trailer;
 
 import deadwood.controller.GameBoard;
+import deadwood.util.GameMessageSink;
+import deadwood.util.GameMessageSink.Type;
 
 //Model, determines end of game, starts new day
 public class DayTracker {
@@ -18,20 +20,24 @@ public class DayTracker {
     }
 
     public void updateDay(List<Actor> players, Trailer trailer, GameBoard gameBoard) {
+        GameMessageSink messages = gameBoard.getMessageSink();
         currentDay++;
         
-        System.out.println("\n==================================");
-        System.out.println("        DAY " + currentDay + " BEGINS");
-        System.out.println("==================================\n");
+        if (messages.isEnabled(Type.DAY)) {
+            messages.message(Type.DAY, GameMessageSink.NO_PLAYER, "\n==================================");
+            messages.message(Type.DAY, GameMessageSink.NO_PLAYER, "        DAY " + currentDay + " BEGINS");
+            messages.message(Type.DAY, GameMessageSink.NO_PLAYER, "==================================\n");
+        }
     
         if (gameEnd()) {
-            System.out.println("Game Over! Calculating final scores...");
-            for (Actor player : players) {
-                System.out.println("Player " + player.getPlayerID() + " Score: " 
-                    + player.getPoints().calcTotalPoints(player.getCurrentRank()));
+            if (messages.isEnabled(Type.GAME_OVER)) {
+                messages.message(Type.GAME_OVER, GameMessageSink.NO_PLAYER, "Game Over! Calculating final scores...");
+                for (Actor player : players) {
+                    messages.message(Type.GAME_OVER, player.getPlayerID(), "Player " + player.getPlayerID() + " Score: " 
+                        + player.getPoints().calcTotalPoints(player.getCurrentRank()));
+                }
+                messages.message(Type.GAME_OVER, GameMessageSink.NO_PLAYER, "Game has ended. Thank you for playing!");
             }
-            System.out.println("Game has ended. Thank you for playing!");
-            System.exit(0);
             return;
         }
     
@@ -41,23 +47,19 @@ public class DayTracker {
         // Reset player roles
         for (Actor player : players) {
             if (player.getCurrentRole() != null) {
-                System.out.println("Player " + player.getPlayerID() + " reset from role: " + player.getCurrentRole());
-               
-                try {
-                    java.lang.reflect.Field field = Actor.class.getDeclaredField("currentRole");
-                    field.setAccessible(true);
-                    field.set(player, null);
-                } catch (Exception e) {
-                    System.out.println("Warning: Could not reset player role: " + e.getMessage());
+                if (messages.isEnabled(Type.DAY)) {
+                    messages.message(Type.DAY, player.getPlayerID(),
+                        "Player " + player.getPlayerID() + " reset from role: " + player.getCurrentRole());
                 }
+                player.clearRole();
             }
         }
         
         // Reload and redistribute card scenes
-        System.out.println("Redistributing scene cards for the new day...");
+        messages.message(Type.DAY, GameMessageSink.NO_PLAYER, "Redistributing scene cards for the new day...");
         gameBoard.reloadAndDistributeCards();
     
-        System.out.println("New day begins! All players reset to the Trailer.");
+        messages.message(Type.DAY, GameMessageSink.NO_PLAYER, "New day begins! All players reset to the Trailer.");
     }
 
     public boolean gameEnd() {
@@ -67,4 +69,14 @@ public class DayTracker {
     public int getCurrentDay() {
         return currentDay;
     }
+    
+    // Day on which the game ends
+    public int getMaxDay() {
+        return maxDay;
+    }
+    
+    // Overwrite the day counter, used when restoring a snapshot
+    public void restoreDay(int day) {
+        this.currentDay = day;
+    }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package deadwood.model;
 
 import java.util.List;
 
+import deadwood.util.GameMessageSink;
+
 // Room child that can contain a set
 public class FilmSetRoom extends Room {
     private int scenesCompleted;
@@ -15,7 +17,9 @@ public class FilmSetRoom extends Room {
     public void completeScene() {
         super.completeScene();
         scenesCompleted++;
-        System.out.println("Scene wrapped in " + roomID);
+        if (messages.isEnabled(GameMessageSink.Type.SCENE_WRAP)) {
+            messages.message(GameMessageSink.Type.SCENE_WRAP, GameMessageSink.NO_PLAYER, "Scene wrapped in " + roomID);
+        }
     }
    
     public boolean endDay() {
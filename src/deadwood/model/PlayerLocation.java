@@ -6,6 +6,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import deadwood.util.ConsoleMessageSink;
+import deadwood.util.GameMessageSink;
+
 /**
  * Model class that tracks player locations and provides information about room
  * positions.
@@ -15,6 +18,10 @@ public class PlayerLocation {
     private int roomID;
     private boolean onRole;
     private Room currentRoom;
+    private GameMessageSink messages;
+    // Occupancy index of the game and the player this location belongs to, both may be null
+    private RoomOccupancy occupancy;
+    private Actor occupant;
 
     // Store room positions
     private static final Map<String, Point> ROOM_POSITIONS;
@@ -44,10 +51,33 @@ public class PlayerLocation {
     }
 
     public PlayerLocation(int ID) {
+        this(ID, new ConsoleMessageSink());
+    }
+
+    public PlayerLocation(int ID, GameMessageSink messages) {
         this.playerID = ID;
         this.roomID = -1;
         this.onRole = false;
         this.currentRoom = null;
+        this.messages = messages;
+    }
+
+    /**
+     * Reports every move from now on to the game's occupancy index, called
+     * by GameBoard when it seats the player
+     *
+     * @param occupancy The game's occupancy index, null to stop reporting
+     * @param occupant The player moving, required with an occupancy index
+     */
+    public void trackOccupancy(RoomOccupancy occupancy, Actor occupant) {
+        if (occupancy != null && occupant == null) {
+            throw new IllegalArgumentException("Occupancy tracking needs the moving player");
+        }
+        this.occupancy = occupancy;
+        this.occupant = occupant;
+        if (occupancy != null && currentRoom != null) {
+            occupancy.move(occupant, null, currentRoom);
+        }
     }
 
     /**
@@ -58,13 +88,13 @@ public class PlayerLocation {
      */
     public boolean validatePlayerMove(String destinationRoomID) {
         if (currentRoom == null) {
-            System.out.println("Error: Player is not in a valid room.");
+            messages.message(GameMessageSink.Type.ERROR, playerID, "Error: Player is not in a valid room.");
             return false;
         }
 
         List<String> adjacentRooms = currentRoom.getAdjacentRooms();
         if (adjacentRooms == null || !adjacentRooms.contains(destinationRoomID)) {
-            System.out.println("Invalid move. You can only move to adjacent rooms.");
+            messages.message(GameMessageSink.Type.MOVE, playerID, "Invalid move. You can only move to adjacent rooms.");
             return false;
         }
         return true;
@@ -77,9 +107,12 @@ public class PlayerLocation {
      */
     public void updatePlayerLocation(Room newRoom) {
         if (newRoom == null) {
-            System.out.println("Error: Cannot move to a null room.");
+            messages.message(GameMessageSink.Type.ERROR, playerID, "Error: Cannot move to a null room.");
             return;
         }
+        if (occupancy != null) {
+            occupancy.move(occupant, currentRoom, newRoom);
+        }
         this.currentRoom = newRoom;
     }
 
@@ -1,7 +1,5 @@
 package deadwood.model;
 
-import java.util.Arrays;
-
 public class PointTracker {
 
     // Player's current resources
@@ -84,44 +82,19 @@ public class PointTracker {
         return false;
     }
 
-    // Award bonus when a scene is complete
-    public void awardSceneBonus(int budget, boolean isExtraRole, int roleRank, int numStarringRoles) {
-        if (!isExtraRole) {
-            // Roll dice equal to budget
-            int[] diceRolls = new int[budget];
-            for (int i = 0; i < budget; i++) {
-                diceRolls[i] = (int)(Math.random() * 6) + 1;
-            }
-            
-            // Sort dice rolls in descending order
-            Arrays.sort(diceRolls);
-            for (int i = 0; i < diceRolls.length / 2; i++) {
-                int temp = diceRolls[i];
-                diceRolls[i] = diceRolls[diceRolls.length - 1 - i];
-                diceRolls[diceRolls.length - 1 - i] = temp;
-            }
-            
-            // Calculate how many dice this role gets
-            int diceForThisRole = 0;
-            
-            // Loop through all dice
-            for (int i = 0; i < diceRolls.length; i++) {
-                // Calculate which role position this die goes to (1-based)
-                int diePosition = (i % numStarringRoles) + 1;
-                
-                // If this die belongs to our role, add its value
-                if (diePosition == roleRank) {
-                    diceForThisRole += diceRolls[i];
-                }
-            }
-            
-            // Award the total of all dice assigned to this role
-            playerCash += diceForThisRole;
-            
-        } else {
-            // Extra roles get cash equal to their rank
-            playerCash += roleRank;
+    // Award the bonus worked out by SceneWrapPayout when a scene wraps
+    public void awardSceneBonus(int cash) {
+        if (cash < 0) {
+            throw new IllegalArgumentException("Scene bonus cannot be negative");
         }
+        playerCash += cash;
+    }
+
+    // Overwrite all resources, used when restoring a snapshot
+    public void restoreState(int cash, int credit, int rehearsalBonus) {
+        this.playerCash = cash;
+        this.playerCredit = credit;
+        this.rehearsalBonus = rehearsalBonus;
     }
 
    // Calculate total points for the end of the game
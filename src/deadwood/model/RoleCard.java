@@ -1,29 +1,38 @@
 package deadwood.model;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-// Object holding role information
-public class RoleCard {
-    private int sceneID;
-    private String sceneName;
-    private String sceneDescription;
-    private String cardImage;
-    private int sceneBudget;
-    private int totalShots;
+// Object holding role information. Cards are immutable and shared by every
+// game, the per-game state of a scene (taken and acted roles, shots) lives in Set
+public final class RoleCard {
+    private final int sceneID;
+    private final String sceneName;
+    private final String sceneDescription;
+    private final String cardImage;
+    private final int sceneBudget;
+    private final int totalShots;
     
     // List of roles available on this card
-    private List<Role> sceneRoles;
+    private final List<Role> sceneRoles;
     
-    public static class Role {
-        private String name;
-        private int level;
-        private String line;
+    // Position of every role by exact and by lowercase name, the first role wins on clashes
+    private final Map<String, Integer> roleIndex;
+    private final Map<String, Integer> lowerCaseRoleIndex;
+    
+    public static final class Role {
+        private final String name;
+        private final int level;
+        private final String line;
         
         public Role(String name, int level, String line) {
+            if (name == null) {
+                throw new IllegalArgumentException("Role name cannot be null");
+            }
             this.name = name;
             this.level = level;
-            this.line = line;
+            this.line = line != null ? line : "";
         }
         
         // Role getters
@@ -45,38 +54,31 @@ public class RoleCard {
         }
     }
     
-    public RoleCard() {
-        this.sceneRoles = new ArrayList<>();
-    }
-    
     public RoleCard(int sceneID, String sceneName, String sceneDescription, 
-                    String cardImage, int sceneBudget, int totalShots) {
+                    String cardImage, int sceneBudget, int totalShots, List<Role> sceneRoles) {
         this.sceneID = sceneID;
         this.sceneName = sceneName;
         this.sceneDescription = sceneDescription;
         this.cardImage = cardImage;
         this.sceneBudget = sceneBudget;
         this.totalShots = totalShots;
-        this.sceneRoles = new ArrayList<>();
-    }
-    
-    
-    public void addRole(String name, int level, String line) {
-        sceneRoles.add(new Role(name, level, line));
+        this.sceneRoles = sceneRoles != null ? List.copyOf(sceneRoles) : List.of();
+        
+        Map<String, Integer> exact = new HashMap<>();
+        Map<String, Integer> lowerCase = new HashMap<>();
+        for (int i = 0; i < this.sceneRoles.size(); i++) {
+            String name = this.sceneRoles.get(i).getName();
+            exact.putIfAbsent(name, i);
+            lowerCase.putIfAbsent(name.toLowerCase(), i);
+        }
+        this.roleIndex = exact;
+        this.lowerCaseRoleIndex = lowerCase;
     }
     
     
     public boolean validateRole(String roleName, int currentRank, int roleRank) {
         // First check if the role exists on this card
-        boolean roleExists = false;
-        for (Role role : sceneRoles) {
-            if (role.getName().equalsIgnoreCase(roleName)) {
-                roleExists = true;
-                break;
-            }
-        }
-        
-        if (!roleExists) {
+        if (indexOf(roleName) < 0) {
             return false;
         }
         
@@ -90,12 +92,25 @@ public class RoleCard {
     }
 
     public Role getRole(String roleName) {
-        for (Role role : sceneRoles) {
-            if (role.getName().equalsIgnoreCase(roleName)) {
-                return role;
-            }
+        int index = indexOf(roleName);
+        return index >= 0 ? sceneRoles.get(index) : null;
+    }
+    
+    /**
+     * Position of a role in getSceneRoles, ignoring case
+     * 
+     * @return The index, or -1 if the card has no such role
+     */
+    public int indexOf(String roleName) {
+        if (roleName == null) {
+            return -1;
         }
-        return null;
+        // Callers usually pass a name taken from a Role, so try that before lowercasing
+        Integer index = roleIndex.get(roleName);
+        if (index == null) {
+            index = lowerCaseRoleIndex.get(roleName.toLowerCase());
+        }
+        return index != null ? index : -1;
     }
     
     
@@ -104,55 +119,31 @@ public class RoleCard {
         return (role != null) ? role.getLevel() : -1;
     }
     
-    // Role Card getters and setters
+    // Role Card getters
     public int getSceneID() {
         return sceneID;
     }
     
-    public void setSceneID(int sceneID) {
-        this.sceneID = sceneID;
-    }
-    
     public String getSceneName() {
         return sceneName;
     }
     
-    public void setSceneName(String sceneName) {
-        this.sceneName = sceneName;
-    }
-    
     public String getSceneDescription() {
         return sceneDescription;
     }
     
-    public void setSceneDescription(String sceneDescription) {
-        this.sceneDescription = sceneDescription;
-    }
-    
     public String getCardImage() {
         return cardImage;
     }
     
-    public void setCardImage(String cardImage) {
-        this.cardImage = cardImage;
-    }
-    
     public int getSceneBudget() {
         return sceneBudget;
     }
     
-    public void setSceneBudget(int sceneBudget) {
-        this.sceneBudget = sceneBudget;
-    }
-    
     public int getTotalShots() {
         return totalShots;
     }
     
-    public void setTotalShots(int totalShots) {
-        this.totalShots = totalShots;
-    }
-    
     public List<Role> getSceneRoles() {
         return sceneRoles;
     }
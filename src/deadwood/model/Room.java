@@ -3,16 +3,21 @@ package deadwood.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import deadwood.util.GameMessageSink;
+
 // Abstract class for FilmSetRoom, Trailer, and CastingOffice
 public abstract class Room {
     protected String roomID;
     protected List<String> adjacentRooms;
     protected Set set;
+    protected GameMessageSink messages;
     
     public Room(String roomID, List<String> adjacentRooms) {
         this.roomID = roomID;
         this.adjacentRooms = adjacentRooms != null ? adjacentRooms : new ArrayList<>();
         this.set = null;
+        // The game hands every room its own sink
+        this.messages = GameMessageSink.NONE;
     }
     
     public String getRoomID() {
@@ -31,6 +36,14 @@ public abstract class Room {
         this.set = set;
     }
     
+    // Sink for the messages of the game this room belongs to
+    public void setMessageSink(GameMessageSink messages) {
+        if (messages == null) {
+            throw new IllegalArgumentException("Message sink cannot be null");
+        }
+        this.messages = messages;
+    }
+    
     public boolean isValidRoom() {
         return roomID != null && !roomID.isEmpty();
     }
@@ -0,0 +1,82 @@
+package deadwood.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Which players stand in which room, for one game. PlayerLocation keeps it
+ * up to date on every move, so finding the players in a room costs the
+ * number of players there instead of a scan over every player.
+ *
+ * Rooms are told apart by identity. Each room's players are kept in seat
+ * (player ID) order, the order the rest of the game walks players in.
+ * One instance belongs to one game and must not be shared between threads.
+ */
+public class RoomOccupancy {
+    private final Map<Room, List<Actor>> occupants;
+    private final Map<Room, List<Actor>> views;
+
+    public RoomOccupancy() {
+        this.occupants = new IdentityHashMap<>();
+        this.views = new IdentityHashMap<>();
+    }
+
+    /**
+     * Registers a room up front so moves into it never allocate
+     *
+     * @param expectedPlayers Players the room should have space for
+     */
+    public void addRoom(Room room, int expectedPlayers) {
+        if (room != null && !occupants.containsKey(room)) {
+            List<Actor> players = new ArrayList<>(expectedPlayers);
+            occupants.put(room, players);
+            views.put(room, Collections.unmodifiableList(players));
+        }
+    }
+
+    /**
+     * Moves a player between rooms, either room may be null
+     */
+    public void move(Actor player, Room from, Room to) {
+        if (from == to) {
+            return;
+        }
+        if (from != null) {
+            List<Actor> players = occupants.get(from);
+            if (players != null) {
+                players.remove(player);
+            }
+        }
+        if (to != null) {
+            addRoom(to, 1);
+            List<Actor> players = occupants.get(to);
+            int slot = players.size();
+            while (slot > 0 && players.get(slot - 1).getPlayerID() > player.getPlayerID()) {
+                slot--;
+            }
+            players.add(slot, player);
+        }
+    }
+
+    /**
+     * Players in a room in seat order, a live read-only view
+     */
+    public List<Actor> getOccupants(Room room) {
+        List<Actor> players = views.get(room);
+        return players != null ? players : Collections.emptyList();
+    }
+
+    public int getOccupantCount(Room room) {
+        List<Actor> players = occupants.get(room);
+        return players != null ? players.size() : 0;
+    }
+
+    // Position of a player among the players in its room, -1 if not there
+    public int getSlot(Actor player, Room room) {
+        List<Actor> players = occupants.get(room);
+        return players != null ? players.indexOf(player) : -1;
+    }
+}
@@ -0,0 +1,133 @@
+package deadwood.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The scene cards of one game. Cards are never put back, so a scene shot on
+ * one day cannot come back on a later day.
+ *
+ * The deck is shuffled lazily: every draw picks a random card from the
+ * undealt part and swaps it to the front (one step of Fisher-Yates), so
+ * dealing touches only the cards dealt and allocates nothing. The dealt
+ * part of the order is the deal history, cards are identified by their
+ * index in the card list (cards.xml order).
+ *
+ * One instance belongs to one game and must not be shared between threads.
+ */
+public final class SceneDeck {
+    private final List<RoleCard> cards;
+    // order[0..dealt) is the deal order, order[dealt..) the undealt cards
+    private final int[] order;
+    // position[card] is the card's position in order
+    private final int[] position;
+    private int dealt;
+
+    /**
+     * @param cards The scene cards, shared and never modified by the deck
+     */
+    public SceneDeck(List<RoleCard> cards) {
+        if (cards == null) {
+            throw new IllegalArgumentException("Card list cannot be null");
+        }
+        this.cards = cards;
+        this.order = new int[cards.size()];
+        this.position = new int[cards.size()];
+        reset();
+    }
+
+    // Puts every card back, in card list order
+    public void reset() {
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+            position[i] = i;
+        }
+        dealt = 0;
+    }
+
+    /**
+     * Deals a random undealt card
+     *
+     * @return The card, null once every card has been dealt
+     */
+    public RoleCard draw(SplittableRandom random) {
+        if (dealt == order.length) {
+            return null;
+        }
+        int pick = dealt + random.nextInt(order.length - dealt);
+        swap(dealt, pick);
+        return cards.get(order[dealt++]);
+    }
+
+    private void swap(int i, int j) {
+        int a = order[i];
+        int b = order[j];
+        order[i] = b;
+        order[j] = a;
+        position[b] = i;
+        position[a] = j;
+    }
+
+    public int size() {
+        return order.length;
+    }
+
+    public int getDealtCount() {
+        return dealt;
+    }
+
+    public int getRemainingCount() {
+        return order.length - dealt;
+    }
+
+    // Whether the card at this index in the card list has been dealt
+    public boolean isDealt(int cardIndex) {
+        return position[cardIndex] < dealt;
+    }
+
+    /**
+     * Card list index of the n-th card dealt, for replays
+     *
+     * @param n 0 for the first card dealt in the game
+     */
+    public int getDealtCardIndex(int n) {
+        if (n < 0 || n >= dealt) {
+            throw new IllegalArgumentException("Only " + dealt + " cards have been dealt");
+        }
+        return order[n];
+    }
+
+    // Card list indices of every dealt card in deal order
+    public int[] getDealOrder() {
+        return Arrays.copyOf(order, dealt);
+    }
+
+    // Card list index at a position of the full order, dealt cards first
+    public int getCardIndexAt(int orderPosition) {
+        return order[orderPosition];
+    }
+
+    /**
+     * Overwrites the deck, used when restoring a snapshot
+     *
+     * @param source Holds the full order (a permutation of the card indices)
+     * @param offset Where the order starts in source
+     * @param dealtCount How many cards at the front of the order are dealt
+     */
+    public void restore(int[] source, int offset, int dealtCount) {
+        if (dealtCount < 0 || dealtCount > order.length) {
+            throw new IllegalArgumentException("Dealt count out of range: " + dealtCount);
+        }
+        Arrays.fill(position, -1);
+        for (int i = 0; i < order.length; i++) {
+            int card = source[offset + i];
+            if (card < 0 || card >= order.length || position[card] >= 0) {
+                throw new IllegalArgumentException("Deck order is not a permutation of the cards");
+            }
+            order[i] = card;
+            position[card] = i;
+        }
+        dealt = dealtCount;
+    }
+}
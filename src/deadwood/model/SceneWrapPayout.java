@@ -0,0 +1,165 @@
+package deadwood.model;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import deadwood.util.GameMessageSink;
+import deadwood.util.GameMessageSink.Type;
+
+/**
+ * Pays the bonuses when a scene wraps. The budget dice are rolled once per
+ * wrap, sorted highest first and dealt round robin to the starring roles
+ * from the highest ranked role down, so every player on the card is paid
+ * from the same roll. Dice dealt to an empty role are lost. Players on extra
+ * roles receive their role's rank in cash.
+ *
+ * Starring bonuses are only paid when at least one player works on the card.
+ * All buffers are reused between wraps, so one instance belongs to one game
+ * and must not be shared between threads.
+ */
+public class SceneWrapPayout {
+    private static final int DIE_FACES = 6;
+
+    private int[] dice;
+    private int[] faceCounts;
+    private int[] roleOrder;
+    private int[] rolePayout;
+    private boolean[] roleOccupied;
+    private GameMessageSink messages;
+
+    public SceneWrapPayout(GameMessageSink messages) {
+        this.messages = messages;
+        this.dice = new int[DIE_FACES];
+        this.faceCounts = new int[DIE_FACES + 1];
+        this.roleOrder = new int[3];
+        this.rolePayout = new int[3];
+        this.roleOccupied = new boolean[3];
+    }
+
+    /**
+     * Pays every player working on the set and releases their roles
+     *
+     * @param room The room whose scene wrapped
+     * @param set The set that wrapped, still holding its scene card
+     * @param players The players in the room, other players are ignored
+     * @param random The game's random source
+     */
+    public void pay(Room room, Set set, List<Actor> players, SplittableRandom random) {
+        RoleCard roleCard = set.getRoleCard();
+        List<RoleCard.Role> starring = roleCard != null ? roleCard.getSceneRoles() : List.of();
+        int numStarring = starring.size();
+        ensureRoleCapacity(numStarring);
+
+        // Find the occupied starring roles
+        boolean anyOnCard = false;
+        for (int i = 0; i < numStarring; i++) {
+            roleOccupied[i] = false;
+            rolePayout[i] = 0;
+        }
+        for (Actor player : players) {
+            int index = starringIndex(player, room, set);
+            if (index >= 0) {
+                roleOccupied[index] = true;
+                anyOnCard = true;
+            }
+        }
+
+        if (anyOnCard) {
+            rollAndDeal(roleCard.getSceneBudget(), starring, random);
+        } else {
+            messages.message(Type.PAYOUT, GameMessageSink.NO_PLAYER,
+                "Nobody worked on the scene card, no starring bonuses are paid.");
+        }
+
+        boolean bonusAwarded = false;
+        for (Actor player : players) {
+            if (player.getLocation().getCurrentRoom() != room || player.getCurrentRole() == null) {
+                continue;
+            }
+
+            int bonus = 0;
+            int index = player.getCurrentRoleIndex();
+            if (set.isExtraRole(index)) {
+                bonus = set.getRoleAt(index).getLevel();
+            } else if (index >= 0 && index < numStarring) {
+                bonus = rolePayout[index];
+            }
+
+            if (bonus > 0) {
+                player.getPoints().awardSceneBonus(bonus);
+                bonusAwarded = true;
+            }
+            if (messages.isEnabled(Type.PAYOUT)) {
+                messages.message(Type.PAYOUT, player.getPlayerID(), "Player " + player.getPlayerID()
+                    + " got a scene bonus of $" + bonus + " for role: " + player.getCurrentRole());
+            }
+
+            // The scene is gone, nobody keeps working on it
+            set.releaseRole(index);
+            player.clearRole();
+        }
+
+        if (!bonusAwarded) {
+            messages.message(Type.PAYOUT, GameMessageSink.NO_PLAYER, "No players received a scene bonus.");
+        }
+    }
+
+    // Rolls the budget dice, sorts them highest first and deals them round
+    // robin to the starring roles ordered by rank
+    private void rollAndDeal(int budget, List<RoleCard.Role> starring, SplittableRandom random) {
+        if (dice.length < budget) {
+            dice = new int[budget];
+        }
+        for (int face = 1; face <= DIE_FACES; face++) {
+            faceCounts[face] = 0;
+        }
+        for (int i = 0; i < budget; i++) {
+            faceCounts[random.nextInt(1, DIE_FACES + 1)]++;
+        }
+
+        // Counting sort, highest face first
+        int count = 0;
+        for (int face = DIE_FACES; face >= 1; face--) {
+            for (int n = faceCounts[face]; n > 0; n--) {
+                dice[count++] = face;
+            }
+        }
+
+        // Starring roles by rank, highest first (insertion sort, cards hold at most a few roles)
+        int numStarring = starring.size();
+        for (int i = 0; i < numStarring; i++) {
+            int j = i;
+            while (j > 0 && starring.get(roleOrder[j - 1]).getLevel() < starring.get(i).getLevel()) {
+                roleOrder[j] = roleOrder[j - 1];
+                j--;
+            }
+            roleOrder[j] = i;
+        }
+
+        for (int i = 0; i < count; i++) {
+            int role = roleOrder[i % numStarring];
+            if (roleOccupied[role]) {
+                rolePayout[role] += dice[i];
+            }
+        }
+    }
+
+    // Index of the starring role the player works in this room, -1 if none.
+    // Starring roles come first in Set.getAllRoles, so it is the role index.
+    private static int starringIndex(Actor player, Room room, Set set) {
+        int index = player.getCurrentRoleIndex();
+        if (index < 0 || player.getLocation().getCurrentRoom() != room
+                || index >= set.getStarringRoleCount()) {
+            return -1;
+        }
+        return index;
+    }
+
+    private void ensureRoleCapacity(int numStarring) {
+        if (roleOrder.length < numStarring) {
+            roleOrder = new int[numStarring];
+            rolePayout = new int[numStarring];
+            roleOccupied = new boolean[numStarring];
+        }
+    }
+}
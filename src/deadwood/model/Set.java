@@ -1,37 +1,77 @@
 package deadwood.model;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 
  // Model class that holds information about a set in a room.
+ // Every role on the set has an index (starring roles first, then extras,
+ // see getAllRoles) and the per-game role state is kept by index: taken and
+ // acted roles as bitmasks and the player working each role in an array.
 public class Set {
-    private RoleCard roleCard;            
-    private RoleCard extraRolesCard;      
+    // Player ID stored for roles nobody is working on
+    public static final int NO_PLAYER = 0;
+
+    // Role state is kept in int bitmasks
+    public static final int MAX_ROLES = 32;
+
+    private RoleCard roleCard;
+    private RoleCard extraRolesCard;
     private int shotCounter;
     private int extraRoles;
     private boolean isActive;
-    private Map<String, String> takenRoles; 
-    private HashSet<String> actedRoles; 
-    private int extraRoleBudget;         
-    
+    private int extraRoleBudget;
+
+    // Starring roles followed by extra roles, refilled in place when the card changes
+    private final List<RoleCard.Role> roles = new ArrayList<>();
+    private final List<RoleCard.Role> allRoles = Collections.unmodifiableList(roles);
+    private int starringCount;
+
+    // Bit i is set when the role at index i is taken / has been acted
+    private int takenMask;
+    private int actedMask;
+
+    // Player working the role at each index, NO_PLAYER if none
+    private final int[] occupants = new int[MAX_ROLES];
+
     public Set(RoleCard roleCard, int shotCounter, int extraRoles) {
         this.roleCard = roleCard;
         this.shotCounter = shotCounter;
         this.extraRoles = extraRoles;
-        this.isActive = true; 
-        this.takenRoles = new HashMap<>();
-        this.actedRoles = new HashSet<>();
-        this.extraRoleBudget = 1;        
+        this.isActive = true;
+        this.extraRoleBudget = 1;
+        indexRoles();
+    }
+
+    // Rebuilds the role table after a card changed, role state starts empty.
+    // The table is refilled in place, so a set dealt a new card every day
+    // does not allocate.
+    private void indexRoles() {
+        int starring = roleCard != null ? roleCard.getSceneRoles().size() : 0;
+        int extras = extraRolesCard != null ? extraRolesCard.getSceneRoles().size() : 0;
+        if (starring + extras > MAX_ROLES) {
+            throw new IllegalArgumentException("A set can hold at most " + MAX_ROLES + " roles");
+        }
+
+        roles.clear();
+        for (int i = 0; i < starring; i++) {
+            roles.add(roleCard.getSceneRoles().get(i));
+        }
+        this.starringCount = starring;
+        for (int i = 0; i < extras; i++) {
+            roles.add(extraRolesCard.getSceneRoles().get(i));
+        }
+
+        Arrays.fill(occupants, NO_PLAYER);
+        this.takenMask = 0;
+        this.actedMask = 0;
     }
 
     public boolean decrementShots() {
         --shotCounter;
-        System.out.println("Shot completed! " + shotCounter + " shots remaining.");
-        
+
         if (shotCounter <= 0) {
             return true;
         }
@@ -39,81 +79,88 @@ public class Set {
     }
 
     public boolean isRoleAvailable(String roleName) {
-        // First, check if the role exists (either in the main RoleCard or in extraRolesCard)
-        boolean roleExists = false;
-        
-        // Check in main roleCard
-        if (roleCard != null) {
-            for (RoleCard.Role role : roleCard.getSceneRoles()) {
-                if (role.getName().equalsIgnoreCase(roleName)) {
-                    roleExists = true;
-                    break;
-                }
-            }
-        }
-        
-        // If not found, check in extraRolesCard
-        if (!roleExists && extraRolesCard != null) {
-            for (RoleCard.Role role : extraRolesCard.getSceneRoles()) {
-                if (role.getName().equalsIgnoreCase(roleName)) {
-                    roleExists = true;
-                    break;
-                }
-            }
-        }
-        
-        return roleExists && !takenRoles.containsKey(roleName);
+        int index = getRoleIndex(roleName);
+        return index >= 0 && !isRoleTaken(index);
     }
-    
-    
+
+
     public boolean isRoleTaken(String roleName) {
-        // Check if the role exists in the takenRoles map
-        return takenRoles.containsKey(roleName);
-    }
-    
-    
-    public boolean assignRole(String roleName, String playerID) {
-        if (isRoleAvailable(roleName)) {
-            takenRoles.put(roleName, playerID);
-            return true;
+        return isRoleTaken(getRoleIndex(roleName));
+    }
+
+    public boolean isRoleTaken(int index) {
+        return index >= 0 && (takenMask & (1 << index)) != 0;
+    }
+
+
+    public boolean assignRole(String roleName, int playerID) {
+        return assignRole(getRoleIndex(roleName), playerID);
+    }
+
+    /**
+     * Puts a player on the role at an index
+     *
+     * @return false if there is no such role or it is already taken
+     */
+    public boolean assignRole(int index, int playerID) {
+        if (index < 0 || index >= allRoles.size() || isRoleTaken(index)) {
+            return false;
         }
-        return false;
+        takenMask |= 1 << index;
+        occupants[index] = playerID;
+        return true;
     }
-    
+
     // If a player leaves a role
     public void releaseRole(String roleName) {
-        takenRoles.remove(roleName);
+        releaseRole(getRoleIndex(roleName));
     }
-    
-    
-    public List<String> getAvailableRoles() {
-        List<String> availableRoles = new ArrayList<>();
-        
-        // Get roles from main roleCard
-        if (roleCard != null) {
-            for (RoleCard.Role role : roleCard.getSceneRoles()) {
-                if (!takenRoles.containsKey(role.getName())) {
-                    availableRoles.add(role.getName());
-                }
+
+    public void releaseRole(int index) {
+        if (index >= 0 && index < allRoles.size()) {
+            takenMask &= ~(1 << index);
+            occupants[index] = NO_PLAYER;
+        }
+    }
+
+    // Player working the role at an index, NO_PLAYER if nobody is
+    public int getOccupant(int index) {
+        return index >= 0 && index < allRoles.size() ? occupants[index] : NO_PLAYER;
+    }
+
+
+    /**
+     * Whether a player of the given rank could start working here: the scene
+     * is shooting and a role of at most that rank is free and not acted yet
+     */
+    public boolean hasOpenRole(int rank) {
+        if (!isActive) {
+            return false;
+        }
+        int closed = takenMask | actedMask;
+        for (int i = 0; i < allRoles.size(); i++) {
+            if ((closed & (1 << i)) == 0 && allRoles.get(i).getLevel() <= rank) {
+                return true;
             }
         }
-        
-        // Get roles from extraRolesCard
-        if (extraRolesCard != null) {
-            for (RoleCard.Role role : extraRolesCard.getSceneRoles()) {
-                if (!takenRoles.containsKey(role.getName())) {
-                    availableRoles.add(role.getName());
-                }
+        return false;
+    }
+
+    public List<String> getAvailableRoles() {
+        List<String> availableRoles = new ArrayList<>();
+        for (int i = 0; i < allRoles.size(); i++) {
+            if (!isRoleTaken(i)) {
+                availableRoles.add(allRoles.get(i).getName());
             }
         }
-        
         return availableRoles;
     }
-    
+
     // Set the extra roles card
     public void setExtraRolesCard(RoleCard extraRolesCard) {
         this.extraRolesCard = extraRolesCard;
-        
+        indexRoles();
+
         // Set the extra role budget based on the level of the roles
         if (extraRolesCard != null && !extraRolesCard.getSceneRoles().isEmpty()) {
             // Calculate average rank of extra roles, use that as budget
@@ -123,127 +170,169 @@ public class Set {
                 totalRank += role.getLevel();
                 count++;
             }
-            
+
             if (count > 0) {
                 this.extraRoleBudget = Math.max(1, totalRank / count); // At least 1
             }
         }
     }
-    
+
     // Get the extra roles card
     public RoleCard getExtraRolesCard() {
         return extraRolesCard;
     }
-    
-    // Get all roles (both scene and extra)
+
+    // Get all roles (both scene and extra), the list must not be modified
+    // and follows the set when it is dealt a new card
     public List<RoleCard.Role> getAllRoles() {
-        List<RoleCard.Role> allRoles = new ArrayList<>();
-        
-        // Add roles from the main scene card
-        if (roleCard != null) {
-            allRoles.addAll(roleCard.getSceneRoles());
-        }
-        
-        // Add roles from the extra roles card
-        if (extraRolesCard != null) {
-            allRoles.addAll(extraRolesCard.getSceneRoles());
-        }
-        
         return allRoles;
     }
     // Return role information
     public RoleCard.Role getRole(String roleName) {
-        // Check in main roleCard first
+        return getRoleAt(getRoleIndex(roleName));
+    }
+
+    // Number of roles on both cards
+    public int getRoleCount() {
+        return allRoles.size();
+    }
+
+    // Number of starring roles, they come first in getAllRoles order
+    public int getStarringRoleCount() {
+        return starringCount;
+    }
+
+    // Position of a role in getAllRoles order (starring roles first), -1 if not on this set.
+    // A name used by both cards resolves to the starring role.
+    public int getRoleIndex(String roleName) {
+        if (roleName == null) {
+            return -1;
+        }
+
         if (roleCard != null) {
-            for (RoleCard.Role role : roleCard.getSceneRoles()) {
-                if (role.getName().equalsIgnoreCase(roleName)) {
-                    return role;
-                }
+            int index = roleCard.indexOf(roleName);
+            if (index >= 0) {
+                return index;
             }
         }
-        
-        // If not found, check in extraRolesCard
+
         if (extraRolesCard != null) {
-            for (RoleCard.Role role : extraRolesCard.getSceneRoles()) {
-                if (role.getName().equalsIgnoreCase(roleName)) {
-                    return role;
-                }
+            int index = extraRolesCard.indexOf(roleName);
+            if (index >= 0) {
+                return starringCount + index;
             }
         }
-        
-        return null;
+        return -1;
+    }
+
+    // Role at a position in getAllRoles order, null if out of range
+    public RoleCard.Role getRoleAt(int index) {
+        return index >= 0 && index < allRoles.size() ? allRoles.get(index) : null;
+    }
+
+    // Bit i is set when the role at index i is taken
+    public int getTakenRoleMask() {
+        return takenMask;
+    }
+
+    // Bit i is set when the role at index i has been acted
+    public int getActedRoleMask() {
+        return actedMask;
+    }
+
+    /**
+     * Overwrites the per-game role state, used when restoring a snapshot.
+     * All roles are released, roles have to be assigned again afterwards.
+     *
+     * @param active Whether the scene is still shooting
+     * @param actedMask Bit i set marks the role at index i as acted
+     */
+    public void restoreRoleState(boolean active, int actedMask) {
+        this.isActive = active;
+        this.takenMask = 0;
+        this.actedMask = actedMask & allRolesMask();
+        Arrays.fill(occupants, NO_PLAYER);
     }
-    
+
+    /**
+     * Puts a scene card and shot count back on this set, used when restoring
+     * a snapshot into a game that already has its sets. The role table is
+     * only rebuilt when the card changes, role state has to be restored with
+     * restoreRoleState afterwards.
+     */
+    public void restoreScene(RoleCard roleCard, int shotCounter) {
+        this.shotCounter = shotCounter;
+        if (roleCard != this.roleCard) {
+            this.roleCard = roleCard;
+            indexRoles();
+        }
+    }
+
     // Check if a role is an extra role
     public boolean isExtraRole(String roleName) {
-        if (extraRolesCard != null) {
-            for (RoleCard.Role role : extraRolesCard.getSceneRoles()) {
-                if (role.getName().equalsIgnoreCase(roleName)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        // A name on both cards is the starring role, like getRoleIndex
+        return isExtraRole(getRoleIndex(roleName));
     }
-    // Add these methods to the Set class to improve role management
 
-/**
- * Marks a role as acted and prevents further acting on this role
- * 
- * @param roleName The name of the role to mark as acted
- */
-public void markRoleAsActed(String roleName) {
-    // Add to the acted roles set
-    if (roleName != null && !roleName.isEmpty()) {
-        actedRoles.add(roleName);
-        System.out.println("Role '" + roleName + "' marked as completed. No further acting needed on this role.");
+    public boolean isExtraRole(int index) {
+        return index >= starringCount && index < allRoles.size();
+    }
+
+    /**
+     * Marks a role as acted and prevents further acting on this role
+     *
+     * @param roleName The name of the role to mark as acted
+     */
+    public void markRoleAsActed(String roleName) {
+        markRoleAsActed(getRoleIndex(roleName));
+    }
+
+    public void markRoleAsActed(int index) {
+        if (index >= 0 && index < allRoles.size()) {
+            actedMask |= 1 << index;
+        }
     }
-}
 
     /**
      * Checks if a role has already been successfully acted
-     * 
+     *
      * @param roleName The name of the role to check
      * @return true if the role has been acted, false otherwise
      */
     public boolean hasRoleBeenActed(String roleName) {
-        return roleName != null && actedRoles.contains(roleName);
+        return hasRoleBeenActed(getRoleIndex(roleName));
+    }
+
+    public boolean hasRoleBeenActed(int index) {
+        return index >= 0 && (actedMask & (1 << index)) != 0;
     }
 
     /**
      * Marks all roles as acted, typically called when a scene wraps
      */
     public void markAllRolesAsActed() {
-        // Mark all starring roles as acted
-        if (roleCard != null) {
-            for (RoleCard.Role role : roleCard.getSceneRoles()) {
-                actedRoles.add(role.getName());
-            }
-        }
-        
-        // Mark all extra roles as acted
-        if (extraRolesCard != null) {
-            for (RoleCard.Role role : extraRolesCard.getSceneRoles()) {
-                actedRoles.add(role.getName());
-            }
-        }
-        
+        actedMask = allRolesMask();
+
         // Mark the set as inactive
         this.isActive = false;
     }
-        
+
+    private int allRolesMask() {
+        return allRoles.size() == MAX_ROLES ? -1 : (1 << allRoles.size()) - 1;
+    }
+
     // Get the budget for extra roles
     public int getExtraRoleBudget() {
         return extraRoleBudget;
     }
-    
+
     // Set the budget for extra roles
     public void setExtraRoleBudget(int budget) {
         if (budget > 0) {
             this.extraRoleBudget = budget;
         }
     }
-    
+
     // Getters
     public RoleCard getRoleCard() {
         return roleCard;
@@ -260,15 +349,11 @@ public void markRoleAsActed(String roleName) {
     public boolean isActive() {
         return isActive;
     }
-    
-    public Map<String, String> getTakenRoles() {
-        return takenRoles;
-    }
-    
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        
+
         if (roleCard != null) {
             sb.append("Set for Scene ").append(roleCard.getSceneID());
             sb.append(" (").append(shotCounter).append(" shots remaining)\n");
@@ -277,36 +362,36 @@ public void markRoleAsActed(String roleName) {
         } else {
             sb.append("Set (").append(shotCounter).append(" shots)\n");
         }
-        
+
         // List roles
         sb.append("Scene Roles:\n");
-        if (roleCard != null) {
-            for (RoleCard.Role role : roleCard.getSceneRoles()) {
-                sb.append("  - ").append(role.getName());
-                sb.append(" (Rank ").append(role.getLevel()).append("): \"");
-                sb.append(role.getLine()).append("\"\n");
-            }
+        for (int i = 0; i < starringCount; i++) {
+            appendRole(sb, allRoles.get(i));
         }
-        
+
         // List extra roles
         sb.append("Extra Roles (Budget: ").append(extraRoleBudget).append("):\n");
-        if (extraRolesCard != null) {
-            for (RoleCard.Role role : extraRolesCard.getSceneRoles()) {
-                sb.append("  - ").append(role.getName());
-                sb.append(" (Rank ").append(role.getLevel()).append("): \"");
-                sb.append(role.getLine()).append("\"\n");
-            }
+        for (int i = starringCount; i < allRoles.size(); i++) {
+            appendRole(sb, allRoles.get(i));
         }
-        
+
         // Taken roles
-        if (!takenRoles.isEmpty()) {
+        if (takenMask != 0) {
             sb.append("Taken Roles:\n");
-            for (Map.Entry<String, String> entry : takenRoles.entrySet()) {
-                sb.append("  - ").append(entry.getKey());
-                sb.append(" (taken by Player ").append(entry.getValue()).append(")\n");
+            for (int i = 0; i < allRoles.size(); i++) {
+                if (isRoleTaken(i)) {
+                    sb.append("  - ").append(allRoles.get(i).getName());
+                    sb.append(" (taken by Player ").append(occupants[i]).append(")\n");
+                }
             }
         }
-        
+
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    private static void appendRole(StringBuilder sb, RoleCard.Role role) {
+        sb.append("  - ").append(role.getName());
+        sb.append(" (Rank ").append(role.getLevel()).append("): \"");
+        sb.append(role.getLine()).append("\"\n");
+    }
+}
@@ -0,0 +1,311 @@
+package deadwood.util;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLStreamException;
+
+import deadwood.model.CastingOffice;
+import deadwood.model.FilmSetRoom;
+import deadwood.model.RoleCard;
+import deadwood.model.Room;
+import deadwood.model.Set;
+import deadwood.model.Trailer;
+
+/**
+ * Read-only description of the board and the scene cards: rooms, adjacency,
+ * the extra roles of every set, upgrade prices and the scene cards in
+ * cards.xml order.
+ *
+ * The default catalog is streamed from resources/xml with StaxBoardLoader
+ * the first time a game asks for it and then shared by every game in the
+ * JVM. Nothing in here may be modified once built, games get their own rooms
+ * and sets from createRooms.
+ */
+public final class BoardCatalog {
+    public static final String BOARD_FILE = "board.xml";
+    public static final String CARDS_FILE = "cards.xml";
+    public static final String BUNDLE_FILE = "catalog.bin";
+    static final String XML_DIR = "resources/xml/";
+    static final String BUNDLE_DIR = "resources/bundle/";
+
+    private static volatile BoardCatalog defaultCatalog;
+
+    // Room keys (lowercase, as used by GameBoard) in sorted order, a room's
+    // position in this list is its room ID
+    private final List<String> roomKeys;
+    private final Map<String, RoomSpec> roomSpecs;
+    private final BoardGraph graph;
+    private final List<Integer> upgradePricesCash;
+    private final List<Integer> upgradePricesCredit;
+    private final List<RoleCard> cards;
+
+    enum Kind { FILM_SET, TRAILER, OFFICE }
+
+    // Everything needed to build a fresh room for a new game, name is the
+    // room's display name ("Casting Office" for the office)
+    static final class RoomSpec {
+        final String name;
+        final Kind kind;
+        final List<String> neighbors;
+        final int takes;
+        final RoleCard extraRolesCard;
+
+        RoomSpec(String name, Kind kind, List<String> neighbors, int takes, RoleCard extraRolesCard) {
+            this.name = name;
+            this.kind = kind;
+            this.neighbors = Collections.unmodifiableList(new ArrayList<>(neighbors));
+            this.takes = takes;
+            this.extraRolesCard = extraRolesCard;
+        }
+    }
+
+    /**
+     * Builds a catalog from parsed rooms and cards. The rooms only serve as
+     * templates, the catalog keeps what it needs and never hands them out.
+     *
+     * @param parsedRooms Rooms keyed by lowercase name, as returned by BoardXMLParser.parseRooms
+     * @param cards Scene cards in file order
+     */
+    public BoardCatalog(Map<String, Room> parsedRooms, List<RoleCard> cards) {
+        this(specsOf(parsedRooms), upgradePrices(parsedRooms, true), upgradePrices(parsedRooms, false), cards);
+    }
+
+    BoardCatalog(Map<String, RoomSpec> specs, List<Integer> upgradePricesCash,
+                 List<Integer> upgradePricesCredit, List<RoleCard> cards) {
+        this(specs, upgradePricesCash, upgradePricesCredit, cards, null, null);
+    }
+
+    // Used by CatalogBundle, which stores the specs and the resolved room graph
+    // directly; null neighbor IDs resolve the neighbor names instead
+    BoardCatalog(Map<String, RoomSpec> specs, List<Integer> upgradePricesCash,
+                 List<Integer> upgradePricesCredit, List<RoleCard> cards,
+                 int[][] neighborIds, long[][] adjacency) {
+        if (specs == null || specs.isEmpty()) {
+            throw new IllegalArgumentException("Catalog needs at least one room");
+        }
+        if (cards == null) {
+            throw new IllegalArgumentException("Card list cannot be null");
+        }
+
+        List<String> keys = new ArrayList<>(specs.keySet());
+        keys.sort(null);
+        this.roomKeys = Collections.unmodifiableList(keys);
+        this.roomSpecs = Collections.unmodifiableMap(new HashMap<>(specs));
+
+        // Neighbor names resolve to rooms ignoring case, unknown names are skipped
+        List<String> displayNames = new ArrayList<>();
+        List<List<String>> neighborNames = new ArrayList<>();
+        for (String key : keys) {
+            RoomSpec spec = roomSpecs.get(key);
+            displayNames.add(spec.name);
+            neighborNames.add(spec.neighbors);
+        }
+        this.graph = neighborIds != null
+            ? new BoardGraph(keys, displayNames, neighborIds, adjacency)
+            : new BoardGraph(keys, displayNames, neighborNames);
+
+        this.upgradePricesCash = List.copyOf(upgradePricesCash);
+        this.upgradePricesCredit = List.copyOf(upgradePricesCredit);
+        this.cards = Collections.unmodifiableList(new ArrayList<>(cards));
+    }
+
+    private static Map<String, RoomSpec> specsOf(Map<String, Room> parsedRooms) {
+        if (parsedRooms == null) {
+            throw new IllegalArgumentException("Catalog needs at least one room");
+        }
+        Map<String, RoomSpec> specs = new HashMap<>();
+        for (Map.Entry<String, Room> entry : parsedRooms.entrySet()) {
+            Room room = entry.getValue();
+            if (room instanceof Trailer) {
+                specs.put(entry.getKey(), new RoomSpec(room.getRoomID(), Kind.TRAILER, room.getAdjacentRooms(), 0, null));
+            } else if (room instanceof CastingOffice) {
+                specs.put(entry.getKey(), new RoomSpec(room.getRoomID(), Kind.OFFICE, room.getAdjacentRooms(), 0, null));
+            } else {
+                Set set = room.getSet();
+                int takes = set != null ? set.getShotCounter() : 0;
+                RoleCard extras = set != null ? set.getExtraRolesCard() : null;
+                specs.put(entry.getKey(), new RoomSpec(room.getRoomID(), Kind.FILM_SET, room.getAdjacentRooms(), takes, extras));
+            }
+        }
+        return specs;
+    }
+
+    private static List<Integer> upgradePrices(Map<String, Room> parsedRooms, boolean cash) {
+        if (parsedRooms != null) {
+            for (Room room : parsedRooms.values()) {
+                if (room instanceof CastingOffice) {
+                    CastingOffice office = (CastingOffice) room;
+                    return cash ? office.getUpgradePricesCash() : office.getUpgradePricesCredit();
+                }
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * The catalog for the standard board, parsed on first use. If loading
+     * fails the next call tries again.
+     *
+     * @param messages Sink for the messages of the first load
+     * @throws IllegalStateException if the XML files cannot be read
+     */
+    public static BoardCatalog getDefault(GameMessageSink messages) {
+        BoardCatalog catalog = defaultCatalog;
+        if (catalog == null) {
+            synchronized (BoardCatalog.class) {
+                catalog = defaultCatalog;
+                if (catalog == null) {
+                    catalog = load(messages);
+                    defaultCatalog = catalog;
+                }
+            }
+        }
+        return catalog;
+    }
+
+    // Prefers an up to date compiled bundle, the XML files are the fallback
+    private static BoardCatalog load(GameMessageSink messages) {
+        Path bundle = Paths.get(BUNDLE_DIR + BUNDLE_FILE);
+        if (CatalogBundle.isUpToDate(bundle, Paths.get(XML_DIR + BOARD_FILE), Paths.get(XML_DIR + CARDS_FILE))) {
+            try {
+                BoardCatalog catalog = CatalogBundle.read(bundle);
+                if (messages.isEnabled(GameMessageSink.Type.SETUP)) {
+                    messages.message(GameMessageSink.Type.SETUP, GameMessageSink.NO_PLAYER,
+                        "Loaded board catalog bundle from: " + bundle.toAbsolutePath());
+                }
+                return catalog;
+            } catch (IOException | RuntimeException e) {
+                messages.message(GameMessageSink.Type.WARNING, GameMessageSink.NO_PLAYER,
+                    "Warning: Ignoring unreadable catalog bundle - " + e.getMessage());
+            }
+        }
+        return loadXml(messages);
+    }
+
+    static BoardCatalog loadXml(GameMessageSink messages) {
+        StaxBoardLoader loader = new StaxBoardLoader();
+        try (InputStream boardIn = open(BOARD_FILE, messages);
+             InputStream cardsIn = open(CARDS_FILE, messages)) {
+            return new BoardCatalog(loader.parseRooms(boardIn), loader.parseCards(cardsIn));
+        } catch (IOException | XMLStreamException | RuntimeException e) {
+            throw new IllegalStateException("Failed to load the board catalog: " + e.getMessage(), e);
+        }
+    }
+
+    private static InputStream open(String filename, GameMessageSink messages) throws IOException {
+        File xmlFile = new File(XML_DIR + filename);
+        if (messages.isEnabled(GameMessageSink.Type.SETUP)) {
+            messages.message(GameMessageSink.Type.SETUP, GameMessageSink.NO_PLAYER,
+                "Trying to load XML file from: " + xmlFile.getAbsolutePath());
+            messages.message(GameMessageSink.Type.SETUP, GameMessageSink.NO_PLAYER,
+                "File exists: " + xmlFile.exists());
+        }
+        return new BufferedInputStream(new FileInputStream(xmlFile));
+    }
+
+    /**
+     * Creates the rooms for a new game, keyed by lowercase room name. Every
+     * film set starts with an empty set holding the catalog's extra roles.
+     */
+    public Map<String, Room> createRooms() {
+        Map<String, Room> rooms = new HashMap<>();
+        for (String key : roomKeys) {
+            RoomSpec spec = roomSpecs.get(key);
+            switch (spec.kind) {
+                case TRAILER:
+                    rooms.put(key, new Trailer(spec.neighbors));
+                    break;
+                case OFFICE:
+                    CastingOffice office = new CastingOffice(spec.neighbors);
+                    office.setUpgradePricesCash(upgradePricesCash);
+                    office.setUpgradePricesCredit(upgradePricesCredit);
+                    rooms.put(key, office);
+                    break;
+                default:
+                    FilmSetRoom filmRoom = new FilmSetRoom(spec.name, spec.neighbors);
+                    int extraRoles = spec.extraRolesCard != null ? spec.extraRolesCard.getSceneRoles().size() : 0;
+                    Set set = new Set(null, spec.takes, extraRoles);
+                    if (spec.extraRolesCard != null) {
+                        set.setExtraRolesCard(spec.extraRolesCard);
+                    }
+                    filmRoom.assignSet(set);
+                    rooms.put(key, filmRoom);
+                    break;
+            }
+        }
+        return rooms;
+    }
+
+    public List<String> getRoomKeys() {
+        return roomKeys;
+    }
+
+    public int getRoomCount() {
+        return roomKeys.size();
+    }
+
+    // Room graph numbered by room ID, shared by every game on this catalog
+    public BoardGraph getGraph() {
+        return graph;
+    }
+
+    // ID of a room (its position in getRoomKeys) by key or display name, -1 for unknown rooms
+    public int getRoomId(String roomName) {
+        return graph.resolve(roomName);
+    }
+
+    public boolean isAdjacent(int fromRoomId, int toRoomId) {
+        return graph.isAdjacent(fromRoomId, toRoomId);
+    }
+
+    // Kind and spec of a room, for CatalogBundle
+    RoomSpec getRoomSpec(String roomKey) {
+        return roomSpecs.get(roomKey);
+    }
+
+    long[] getAdjacencyWords(int roomId) {
+        return graph.getAdjacencyWords(roomId);
+    }
+
+    // Neighbor names of a room as written in board.xml, null for unknown rooms
+    public List<String> getNeighbors(String roomKey) {
+        RoomSpec spec = roomSpecs.get(roomKey);
+        return spec != null ? spec.neighbors : null;
+    }
+
+    // Shots the set in a room starts each day with, 0 for rooms without a set
+    public int getTakes(String roomKey) {
+        RoomSpec spec = roomSpecs.get(roomKey);
+        return spec != null ? spec.takes : 0;
+    }
+
+    // Extra roles of the set in a room, null for rooms without a set
+    public RoleCard getExtraRolesCard(String roomKey) {
+        RoomSpec spec = roomSpecs.get(roomKey);
+        return spec != null ? spec.extraRolesCard : null;
+    }
+
+    public List<Integer> getUpgradePricesCash() {
+        return upgradePricesCash;
+    }
+
+    public List<Integer> getUpgradePricesCredit() {
+        return upgradePricesCredit;
+    }
+
+    // Scene cards in cards.xml order, shared by every game
+    public List<RoleCard> getCards() {
+        return cards;
+    }
+}
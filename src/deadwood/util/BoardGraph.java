@@ -0,0 +1,294 @@
+package deadwood.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Compiled room graph of a board. Rooms are numbered 0..n-1 in room key
+ * order (the same numbering as BoardCatalog room IDs and GameBoard room
+ * indices), adjacency is a bitset per room and names resolve to IDs
+ * without case sensitivity.
+ *
+ * Move distances between every pair of rooms are computed up front with
+ * one breadth first search per room, so distance, next step and nearest
+ * room queries are table lookups.
+ *
+ * A room resolves from its key ("office", "trailer", "main street") and
+ * from its display name ("Casting Office", "Trailer"), so both the names
+ * board.xml uses for neighbors and the names shown to players work.
+ * Resolving a name and testing adjacency never allocate.
+ *
+ * The graph is immutable and shared by every game on the board.
+ */
+public final class BoardGraph {
+    // Distance between rooms that cannot reach each other
+    public static final int UNREACHABLE = -1;
+
+    private final List<String> roomKeys;
+    private final String[] displayNames;
+    // [room ID][word], bit (id % 64) of word (id / 64) set for every neighbor
+    private final long[][] adjacency;
+    // Neighbor IDs in board.xml order, -1 for a neighbor missing from the board
+    private final int[][] neighbors;
+
+    // [from][to] number of moves, UNREACHABLE if there is no path
+    private final int[][] distances;
+    // [from] reachable room IDs, closest first (the room itself comes first)
+    private final int[][] roomsByDistance;
+
+    // Open addressing table of every name a room answers to
+    private final String[] names;
+    private final int[] nameIds;
+    private final int nameMask;
+
+    /**
+     * @param roomKeys Lowercase room keys, a key's position is the room's ID
+     * @param displayNames Name of each room as shown to players, by room ID
+     * @param neighborNames Neighbor names of each room as written in board.xml, by room ID
+     */
+    public BoardGraph(List<String> roomKeys, List<String> displayNames, List<List<String>> neighborNames) {
+        this(roomKeys, displayNames, neighborNames, null, null);
+    }
+
+    /**
+     * Graph from neighbor IDs and adjacency words that were already
+     * resolved, as stored in a catalog bundle. No neighbor name is
+     * looked up.
+     *
+     * @param neighborIds Neighbor IDs of each room in board.xml order, -1 for a missing neighbor
+     * @param adjacencyWords Adjacency words of each room, matching neighborIds
+     */
+    BoardGraph(List<String> roomKeys, List<String> displayNames, int[][] neighborIds, long[][] adjacencyWords) {
+        this(roomKeys, displayNames, null, neighborIds, adjacencyWords);
+    }
+
+    private BoardGraph(List<String> roomKeys, List<String> displayNames, List<List<String>> neighborNames,
+                       int[][] neighborIds, long[][] adjacencyWords) {
+        if (roomKeys == null || roomKeys.isEmpty()) {
+            throw new IllegalArgumentException("Board graph needs at least one room");
+        }
+        int roomCount = roomKeys.size();
+        int neighborCount = neighborNames != null ? neighborNames.size() : neighborIds.length;
+        if (displayNames.size() != roomCount || neighborCount != roomCount) {
+            throw new IllegalArgumentException("Board graph needs a name and neighbor list for every room");
+        }
+
+        this.roomKeys = Collections.unmodifiableList(List.copyOf(roomKeys));
+        this.displayNames = displayNames.toArray(new String[0]);
+
+        // Room keys first, so a display name can never take over another room's key
+        int capacity = Integer.highestOneBit(roomCount * 4 - 1) << 1;
+        this.names = new String[capacity];
+        this.nameIds = new int[capacity];
+        this.nameMask = capacity - 1;
+        for (int id = 0; id < roomCount; id++) {
+            if (!addName(roomKeys.get(id), id)) {
+                throw new IllegalArgumentException("Duplicate room key: " + roomKeys.get(id));
+            }
+        }
+        for (int id = 0; id < roomCount; id++) {
+            if (this.displayNames[id] != null) {
+                addName(this.displayNames[id], id);
+            }
+        }
+
+        if (neighborNames != null) {
+            this.adjacency = new long[roomCount][(roomCount + 63) / 64];
+            this.neighbors = new int[roomCount][];
+            for (int id = 0; id < roomCount; id++) {
+                List<String> roomNeighbors = neighborNames.get(id);
+                neighbors[id] = new int[roomNeighbors.size()];
+                for (int i = 0; i < roomNeighbors.size(); i++) {
+                    int neighbor = resolve(roomNeighbors.get(i));
+                    neighbors[id][i] = neighbor;
+                    if (neighbor >= 0) {
+                        adjacency[id][neighbor >>> 6] |= 1L << neighbor;
+                    }
+                }
+            }
+        } else {
+            checkResolved(neighborIds, adjacencyWords);
+            this.adjacency = adjacencyWords;
+            this.neighbors = neighborIds;
+        }
+
+        this.distances = new int[roomCount][];
+        this.roomsByDistance = new int[roomCount][];
+        int[] queue = new int[roomCount];
+        for (int id = 0; id < roomCount; id++) {
+            searchFrom(id, queue);
+        }
+    }
+
+    // Resolved neighbors must stay on the board and agree with the adjacency words
+    private static void checkResolved(int[][] neighborIds, long[][] adjacency) {
+        int roomCount = neighborIds.length;
+        int wordCount = (roomCount + 63) / 64;
+        if (adjacency.length != roomCount) {
+            throw new IllegalArgumentException("Board graph needs adjacency words for every room");
+        }
+        long[] expected = new long[wordCount];
+        for (int id = 0; id < roomCount; id++) {
+            Arrays.fill(expected, 0L);
+            for (int neighbor : neighborIds[id]) {
+                if (neighbor >= roomCount || neighbor < -1) {
+                    throw new IllegalArgumentException("Neighbor " + neighbor + " of room " + id + " is not on the board");
+                }
+                if (neighbor >= 0) {
+                    expected[neighbor >>> 6] |= 1L << neighbor;
+                }
+            }
+            if (!Arrays.equals(expected, adjacency[id])) {
+                throw new IllegalArgumentException("Adjacency of room " + id + " does not match its neighbors");
+            }
+        }
+    }
+
+    // Breadth first search over the neighbor lists, the visit order is
+    // already sorted by distance
+    private void searchFrom(int source, int[] queue) {
+        int[] distance = new int[neighbors.length];
+        Arrays.fill(distance, UNREACHABLE);
+        distance[source] = 0;
+        queue[0] = source;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int room = queue[head++];
+            for (int neighbor : neighbors[room]) {
+                if (neighbor >= 0 && distance[neighbor] == UNREACHABLE) {
+                    distance[neighbor] = distance[room] + 1;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+        distances[source] = distance;
+        roomsByDistance[source] = Arrays.copyOf(queue, tail);
+    }
+
+    // Adds a name unless another room already answers to it
+    private boolean addName(String name, int id) {
+        int slot = hash(name) & nameMask;
+        while (names[slot] != null) {
+            if (names[slot].equalsIgnoreCase(name)) {
+                return false;
+            }
+            slot = (slot + 1) & nameMask;
+        }
+        names[slot] = name;
+        nameIds[slot] = id;
+        return true;
+    }
+
+    /**
+     * Room ID for a room key or display name, ignoring case
+     *
+     * @return The room ID, -1 if no room has that name
+     */
+    public int resolve(String name) {
+        if (name == null) {
+            return -1;
+        }
+        int slot = hash(name) & nameMask;
+        while (names[slot] != null) {
+            if (names[slot].equalsIgnoreCase(name)) {
+                return nameIds[slot];
+            }
+            slot = (slot + 1) & nameMask;
+        }
+        return -1;
+    }
+
+    // Case insensitive, agrees with String.equalsIgnoreCase
+    private static int hash(String name) {
+        int h = 0;
+        for (int i = 0; i < name.length(); i++) {
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(name.charAt(i)));
+        }
+        return h ^ (h >>> 16);
+    }
+
+    public boolean isAdjacent(int fromRoomId, int toRoomId) {
+        return (adjacency[fromRoomId][toRoomId >>> 6] & (1L << toRoomId)) != 0;
+    }
+
+    // Number of moves from one room to another, UNREACHABLE if there is no path
+    public int getDistance(int fromRoomId, int toRoomId) {
+        return distances[fromRoomId][toRoomId];
+    }
+
+    /**
+     * First move on a shortest path, the earliest such neighbor in board.xml
+     * order when there are several
+     *
+     * @return The neighbor to move to, -1 if the rooms are the same or the target cannot be reached
+     */
+    public int getNextStep(int fromRoomId, int toRoomId) {
+        int distance = distances[fromRoomId][toRoomId];
+        if (distance <= 0) {
+            return -1;
+        }
+        for (int neighbor : neighbors[fromRoomId]) {
+            if (neighbor >= 0 && distances[neighbor][toRoomId] == distance - 1) {
+                return neighbor;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Closest room that matches, ties are broken by breadth first search
+     * order. The starting room itself is checked first.
+     *
+     * @param matches Test on room IDs
+     * @return The matching room ID, -1 if no reachable room matches
+     */
+    public int findNearest(int fromRoomId, IntPredicate matches) {
+        for (int roomId : roomsByDistance[fromRoomId]) {
+            if (matches.test(roomId)) {
+                return roomId;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reachable rooms ordered by distance, starting with the room itself.
+     * The returned array is shared and must not be modified.
+     */
+    public int[] getRoomsByDistance(int fromRoomId) {
+        return roomsByDistance[fromRoomId];
+    }
+
+    public int getRoomCount() {
+        return roomKeys.size();
+    }
+
+    public List<String> getRoomKeys() {
+        return roomKeys;
+    }
+
+    public String getRoomKey(int roomId) {
+        return roomKeys.get(roomId);
+    }
+
+    public String getDisplayName(int roomId) {
+        return displayNames[roomId];
+    }
+
+    /**
+     * IDs of the rooms next to a room in board.xml order, -1 for a neighbor
+     * missing from the board. The returned array is shared and must not be
+     * modified.
+     */
+    public int[] getNeighbors(int roomId) {
+        return neighbors[roomId];
+    }
+
+    // Adjacency bitset of a room, for CatalogBundle, must not be modified
+    long[] getAdjacencyWords(int roomId) {
+        return adjacency[roomId];
+    }
+}
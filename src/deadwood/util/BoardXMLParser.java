@@ -134,25 +134,27 @@ public class BoardXMLParser {
             // Parse parts for the set and create a temporary RoleCard
             List<Map<String, Object>> parts = parseParts(setElement);
             
-            // Create a temporary RoleCard with setName as the scene name
+            // Collect the extra roles
+            List<RoleCard.Role> extraRoles = new ArrayList<>();
+            for (Map<String, Object> part : parts) {
+                String roleName = (String) part.get("name");
+                int roleLevel = (int) part.get("level");
+                String roleLine = (String) part.get("line");
+                
+                extraRoles.add(new RoleCard.Role(roleName, roleLevel, roleLine));
+            }
+            
+            // Create a RoleCard with setName as the scene name to hold them
             RoleCard extraRoleCard = new RoleCard(
                 0,          
                 "Extra Roles for " + setName,
                 "Extra roles for the " + setName + " set",
                 "",          
                 0,          
-                takes        
+                takes,
+                extraRoles
             );
             
-            // Add each extra role to the card
-            for (Map<String, Object> part : parts) {
-                String roleName = (String) part.get("name");
-                int roleLevel = (int) part.get("level");
-                String roleLine = (String) part.get("line");
-                
-                extraRoleCard.addRole(roleName, roleLevel, roleLine);
-            }
-            
             // Create an empty Set for this room
             Set setObj = new Set(null, takes, parts.size());
             
@@ -167,7 +169,7 @@ public class BoardXMLParser {
         Element trailerElement = (Element) root.getElementsByTagName("trailer").item(0);
         if (trailerElement != null) {
             List<String> trailerNeighbors = parseNeighbors(trailerElement);
-            Trailer trailerObj = Trailer.getInstance(trailerNeighbors);
+            Trailer trailerObj = new Trailer(trailerNeighbors);
             rooms.put("trailer", trailerObj);
         }
 
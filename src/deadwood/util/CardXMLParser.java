@@ -35,17 +35,8 @@ public class CardXMLParser {
             int sceneNumber = Integer.parseInt(sceneElement.getAttribute("number"));
             String sceneDescription = sceneElement.getTextContent().trim();
             
-            // Create a new RoleCard
-            RoleCard card = new RoleCard(
-                sceneNumber,  
-                cardName,      
-                sceneDescription, 
-                cardImg,       
-                budget,        
-                3   
-            );
-            
             // Parse roles
+            List<RoleCard.Role> roles = new ArrayList<>();
             NodeList partNodes = cardElement.getElementsByTagName("part");
             for (int j = 0; j < partNodes.getLength(); j++) {
                 Element partElement = (Element) partNodes.item(j);
@@ -56,9 +47,19 @@ public class CardXMLParser {
                 Element lineElement = (Element) partElement.getElementsByTagName("line").item(0);
                 String roleLine = lineElement.getTextContent();
                 
-                // Add role to card
-                card.addRole(roleName, roleLevel, roleLine);
+                roles.add(new RoleCard.Role(roleName, roleLevel, roleLine));
             }
+            
+            // Create the card once all its roles are known
+            RoleCard card = new RoleCard(
+                sceneNumber,  
+                cardName,      
+                sceneDescription, 
+                cardImg,       
+                budget,        
+                3,
+                roles
+            );
             cards.add(card);
         }
         
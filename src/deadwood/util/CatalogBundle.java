@@ -0,0 +1,347 @@
+package deadwood.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import deadwood.model.RoleCard;
+
+/**
+ * Compiled form of the board catalog. The bundle is built once from
+ * board.xml and cards.xml and then loaded straight from its bytes, memory
+ * mapped when it is large, which skips JAXP start up and XML parsing
+ * entirely.
+ *
+ * Layout (big endian ints):
+ * <pre>
+ *   magic, version
+ *   strings:  count, then per string its UTF-8 length and bytes
+ *   cards:    count, then per card scene ID, name, description, image,
+ *             budget, total shots, role count and per role name, level, line
+ *   rooms:    count, then per room in room ID order key, name, kind, takes,
+ *             extra roles card (-1 for none), neighbor count, the neighbor
+ *             names and the neighbor room IDs (-1 for a missing room), and
+ *             adjacency word count and the adjacency bitset words (longs)
+ *   upgrades: count, cash prices, count, credit prices
+ *   deck:     count, then the card index of every scene card in file order
+ * </pre>
+ * Strings and cards are referenced by their index in their table, so every
+ * name is stored and decoded once. The room graph is stored resolved, so
+ * loading a bundle never looks up a neighbor name.
+ *
+ * Build it from the project root with: java deadwood.util.CatalogBundle [output file]
+ */
+public final class CatalogBundle {
+    private static final int MAGIC = 0x44574342; // "DWCB"
+    private static final int VERSION = 2;
+
+    // Mapping costs a few page faults and, on a cold JVM, tens of
+    // milliseconds of reflection set up, which only pays off for big bundles
+    private static final long MAP_THRESHOLD = 1 << 20;
+
+    private CatalogBundle() {
+    }
+
+    /**
+     * Compiles the XML files under resources/xml into resources/bundle/catalog.bin,
+     * or into the file given as the first argument
+     */
+    public static void main(String[] args) throws IOException {
+        Path out = Paths.get(args.length > 0 ? args[0] : BoardCatalog.BUNDLE_DIR + BoardCatalog.BUNDLE_FILE);
+        BoardCatalog catalog = BoardCatalog.loadXml(GameMessageSink.NONE);
+        write(catalog, out);
+        System.out.println("Wrote " + Files.size(out) + " byte catalog bundle to " + out.toAbsolutePath());
+    }
+
+    /**
+     * Whether the bundle exists and is at least as new as every source file
+     * that exists
+     */
+    public static boolean isUpToDate(Path bundle, Path... sources) {
+        if (!Files.isRegularFile(bundle)) {
+            return false;
+        }
+        try {
+            long built = Files.getLastModifiedTime(bundle).toMillis();
+            for (Path source : sources) {
+                if (Files.exists(source) && Files.getLastModifiedTime(source).toMillis() > built) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the catalog to a bundle file. The file is replaced atomically
+     * where the file system allows it, so readers never see half a bundle.
+     */
+    public static void write(BoardCatalog catalog, Path out) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        Map<RoleCard, Integer> cardIndex = new IdentityHashMap<>();
+        List<RoleCard> cardTable = new ArrayList<>();
+
+        // Collect every card (extra roles cards first, then the deck) and string
+        List<String> keys = catalog.getRoomKeys();
+        for (String key : keys) {
+            BoardCatalog.RoomSpec spec = catalog.getRoomSpec(key);
+            intern(strings, key);
+            intern(strings, spec.name);
+            for (String neighbor : spec.neighbors) {
+                intern(strings, neighbor);
+            }
+            addCard(spec.extraRolesCard, cardIndex, cardTable, strings);
+        }
+        for (RoleCard card : catalog.getCards()) {
+            addCard(card, cardIndex, cardTable, strings);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+
+        data.writeInt(strings.size());
+        for (String value : strings.keySet()) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            data.writeInt(utf8.length);
+            data.write(utf8);
+        }
+
+        data.writeInt(cardTable.size());
+        for (RoleCard card : cardTable) {
+            data.writeInt(card.getSceneID());
+            data.writeInt(strings.get(card.getSceneName()));
+            data.writeInt(strings.get(card.getSceneDescription()));
+            data.writeInt(strings.get(card.getCardImage()));
+            data.writeInt(card.getSceneBudget());
+            data.writeInt(card.getTotalShots());
+            data.writeInt(card.getSceneRoles().size());
+            for (RoleCard.Role role : card.getSceneRoles()) {
+                data.writeInt(strings.get(role.getName()));
+                data.writeInt(role.getLevel());
+                data.writeInt(strings.get(role.getLine()));
+            }
+        }
+
+        data.writeInt(keys.size());
+        for (int id = 0; id < keys.size(); id++) {
+            BoardCatalog.RoomSpec spec = catalog.getRoomSpec(keys.get(id));
+            data.writeInt(strings.get(keys.get(id)));
+            data.writeInt(strings.get(spec.name));
+            data.writeInt(spec.kind.ordinal());
+            data.writeInt(spec.takes);
+            data.writeInt(spec.extraRolesCard != null ? cardIndex.get(spec.extraRolesCard) : -1);
+            data.writeInt(spec.neighbors.size());
+            for (String neighbor : spec.neighbors) {
+                data.writeInt(strings.get(neighbor));
+            }
+            for (int neighbor : catalog.getGraph().getNeighbors(id)) {
+                data.writeInt(neighbor);
+            }
+            long[] words = catalog.getAdjacencyWords(id);
+            data.writeInt(words.length);
+            for (long word : words) {
+                data.writeLong(word);
+            }
+        }
+
+        writeInts(data, catalog.getUpgradePricesCash());
+        writeInts(data, catalog.getUpgradePricesCredit());
+
+        data.writeInt(catalog.getCards().size());
+        for (RoleCard card : catalog.getCards()) {
+            data.writeInt(cardIndex.get(card));
+        }
+        data.flush();
+
+        Path dir = out.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, "catalog", ".tmp");
+        try {
+            Files.write(tmp, bytes.toByteArray());
+            try {
+                Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Loads a catalog by memory mapping a bundle file
+     *
+     * @throws IOException if the file cannot be read
+     * @throws IllegalStateException if the file is not a valid bundle
+     */
+    public static BoardCatalog read(Path bundle) throws IOException {
+        try (FileChannel channel = FileChannel.open(bundle, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= MAP_THRESHOLD) {
+                return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            }
+
+            // Small bundles are cheaper to read in one call than to map
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                // End of file before the buffer fills means the file shrank, parsing then reports it as truncated
+                if (channel.read(buffer) < 0) {
+                    break;
+                }
+            }
+            buffer.flip();
+            return read(buffer);
+        }
+    }
+
+    static BoardCatalog read(ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalStateException("Not a catalog bundle");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported catalog bundle version " + version);
+            }
+
+            String[] strings = new String[count(buffer)];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] utf8 = new byte[count(buffer)];
+                buffer.get(utf8);
+                strings[i] = new String(utf8, StandardCharsets.UTF_8);
+            }
+
+            RoleCard[] cardTable = new RoleCard[count(buffer)];
+            for (int i = 0; i < cardTable.length; i++) {
+                int sceneID = buffer.getInt();
+                String name = strings[buffer.getInt()];
+                String description = strings[buffer.getInt()];
+                String image = strings[buffer.getInt()];
+                int budget = buffer.getInt();
+                int totalShots = buffer.getInt();
+                RoleCard.Role[] roles = new RoleCard.Role[count(buffer)];
+                for (int r = 0; r < roles.length; r++) {
+                    roles[r] = new RoleCard.Role(strings[buffer.getInt()], buffer.getInt(), strings[buffer.getInt()]);
+                }
+                cardTable[i] = new RoleCard(sceneID, name, description, image, budget, totalShots, Arrays.asList(roles));
+            }
+
+            BoardCatalog.Kind[] kinds = BoardCatalog.Kind.values();
+            int roomCount = count(buffer);
+            Map<String, BoardCatalog.RoomSpec> specs = new HashMap<>();
+            int[][] neighborIds = new int[roomCount][];
+            long[][] adjacency = new long[roomCount][];
+            String previousKey = null;
+            for (int id = 0; id < roomCount; id++) {
+                String key = strings[buffer.getInt()];
+                // Room IDs follow key order, the catalog numbers its rooms the same way
+                if (previousKey != null && previousKey.compareTo(key) >= 0) {
+                    throw new IllegalStateException("Catalog bundle rooms are out of order");
+                }
+                previousKey = key;
+                String name = strings[buffer.getInt()];
+                BoardCatalog.Kind kind = kinds[buffer.getInt()];
+                int takes = buffer.getInt();
+                int extras = buffer.getInt();
+                String[] neighbors = new String[count(buffer)];
+                for (int n = 0; n < neighbors.length; n++) {
+                    neighbors[n] = strings[buffer.getInt()];
+                }
+                neighborIds[id] = new int[neighbors.length];
+                for (int n = 0; n < neighbors.length; n++) {
+                    neighborIds[id][n] = buffer.getInt();
+                }
+                adjacency[id] = new long[count(buffer)];
+                for (int w = 0; w < adjacency[id].length; w++) {
+                    adjacency[id][w] = buffer.getLong();
+                }
+                specs.put(key, new BoardCatalog.RoomSpec(name, kind, Arrays.asList(neighbors), takes,
+                    extras >= 0 ? cardTable[extras] : null));
+            }
+
+            List<Integer> cash = readInts(buffer);
+            List<Integer> credit = readInts(buffer);
+
+            List<RoleCard> deck = new ArrayList<>();
+            int deckSize = count(buffer);
+            for (int i = 0; i < deckSize; i++) {
+                deck.add(cardTable[buffer.getInt()]);
+            }
+
+            // The graph takes the stored neighbor IDs and bitsets as they are
+            // and rejects any that disagree, which is a damaged bundle
+            return new BoardCatalog(specs, cash, credit, deck, neighborIds, adjacency);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalStateException("Truncated or damaged catalog bundle", e);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Damaged catalog bundle: " + e.getMessage(), e);
+        }
+    }
+
+    private static void addCard(RoleCard card, Map<RoleCard, Integer> cardIndex, List<RoleCard> cardTable,
+                                Map<String, Integer> strings) {
+        if (card == null || cardIndex.containsKey(card)) {
+            return;
+        }
+        cardIndex.put(card, cardTable.size());
+        cardTable.add(card);
+        intern(strings, card.getSceneName());
+        intern(strings, card.getSceneDescription());
+        intern(strings, card.getCardImage());
+        for (RoleCard.Role role : card.getSceneRoles()) {
+            intern(strings, role.getName());
+            intern(strings, role.getLine());
+        }
+    }
+
+    private static void intern(Map<String, Integer> strings, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Catalog strings cannot be null");
+        }
+        strings.putIfAbsent(value, strings.size());
+    }
+
+    private static void writeInts(DataOutputStream data, List<Integer> values) throws IOException {
+        data.writeInt(values.size());
+        for (int value : values) {
+            data.writeInt(value);
+        }
+    }
+
+    private static List<Integer> readInts(ByteBuffer buffer) {
+        Integer[] values = new Integer[count(buffer)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = buffer.getInt();
+        }
+        return Arrays.asList(values);
+    }
+
+    // Counts and lengths are never negative and never larger than what is left
+    private static int count(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining()) {
+            throw new IllegalStateException("Damaged catalog bundle");
+        }
+        return count;
+    }
+}
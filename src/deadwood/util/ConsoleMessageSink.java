@@ -0,0 +1,57 @@
+package deadwood.util;
+
+import java.io.PrintStream;
+
+/**
+ * Prints game messages to a console stream, one line per message.
+ *
+ * Unbuffered it prints every message as it arrives, exactly like the game
+ * always has, which the interactive modes need. Buffered it collects the
+ * text and writes it in one go on flush (the end of every turn) or when the
+ * buffer fills up, so the stream's lock is taken once per turn instead of
+ * once per line.
+ */
+public class ConsoleMessageSink implements GameMessageSink {
+    // Characters collected before a buffered sink writes early
+    private static final int BUFFER_LIMIT = 8192;
+
+    private PrintStream out;
+    private StringBuilder buffer;
+
+    /**
+     * Unbuffered sink on System.out
+     */
+    public ConsoleMessageSink() {
+        this(System.out, false);
+    }
+
+    public ConsoleMessageSink(PrintStream out, boolean buffered) {
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream cannot be null");
+        }
+        this.out = out;
+        this.buffer = buffered ? new StringBuilder(BUFFER_LIMIT) : null;
+    }
+
+    @Override
+    public void message(Type type, int playerID, String text) {
+        if (buffer == null) {
+            out.println(text);
+            return;
+        }
+
+        buffer.append(text).append(System.lineSeparator());
+        if (buffer.length() >= BUFFER_LIMIT) {
+            flush();
+        }
+    }
+
+    @Override
+    public void flush() {
+        if (buffer != null && buffer.length() > 0) {
+            out.print(buffer);
+            out.flush();
+            buffer.setLength(0);
+        }
+    }
+}
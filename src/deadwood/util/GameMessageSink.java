@@ -0,0 +1,78 @@
+package deadwood.util;
+
+/**
+ * Destination for the messages the game reports while it is played (moves,
+ * acting results, payouts, day changes...). Each game writes to its own sink,
+ * so an interactive game prints to the console while simulations and servers
+ * can drop or collect messages without touching System.out.
+ *
+ * Callers building a message out of several parts check isEnabled for its
+ * type first, so a sink that discards those messages costs nothing.
+ */
+public interface GameMessageSink {
+
+    /**
+     * What a message is about
+     */
+    enum Type {
+        SETUP,
+        TURN,
+        MOVE,
+        ROLE,
+        ACT,
+        REHEARSE,
+        UPGRADE,
+        SCENE_WRAP,
+        PAYOUT,
+        DAY,
+        GAME_OVER,
+        WARNING,
+        ERROR
+    }
+
+    // Player ID for messages that are not about a single player
+    int NO_PLAYER = 0;
+
+    /**
+     * Sink that discards every message
+     */
+    GameMessageSink NONE = new GameMessageSink() {
+        @Override
+        public void message(Type type, int playerID, String text) {
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+    };
+
+    /**
+     * Reports one message
+     *
+     * @param type What the message is about
+     * @param playerID Player the message concerns, NO_PLAYER for game wide messages
+     * @param text Text as shown to a human player
+     */
+    void message(Type type, int playerID, String text);
+
+    /**
+     * @return false if messages are discarded, so callers can skip building them
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * @return false if messages of this type are discarded
+     */
+    default boolean isEnabled(Type type) {
+        return isEnabled();
+    }
+
+    /**
+     * Writes out any buffered messages, called at the end of every turn
+     */
+    default void flush() {
+    }
+}
@@ -14,6 +14,16 @@ import org.xml.sax.SAXException;
 import java.io.IOException;
 
 public class ParseXML {
+    private GameMessageSink messages;
+
+    public ParseXML() {
+        this(new ConsoleMessageSink());
+    }
+
+    public ParseXML(GameMessageSink messages) {
+        this.messages = messages;
+    }
+
     // Method to get a Document object from an XML file
     public Document getDocFromFile(String filename) throws ParserConfigurationException, SAXException, IOException {
         // Create a DocumentBuilder
@@ -21,8 +31,12 @@ public class ParseXML {
         DocumentBuilder db = dbf.newDocumentBuilder();
         
         File xmlFile = new File("resources/xml/" + filename);
-        System.out.println("Trying to load XML file from: " + xmlFile.getAbsolutePath());
-        System.out.println("File exists: " + xmlFile.exists());
+        if (messages.isEnabled(GameMessageSink.Type.SETUP)) {
+            messages.message(GameMessageSink.Type.SETUP, GameMessageSink.NO_PLAYER,
+                "Trying to load XML file from: " + xmlFile.getAbsolutePath());
+            messages.message(GameMessageSink.Type.SETUP, GameMessageSink.NO_PLAYER,
+                "File exists: " + xmlFile.exists());
+        }
         // Parse the XML file and return the Document
         return db.parse(xmlFile);
     }
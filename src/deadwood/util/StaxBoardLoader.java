@@ -0,0 +1,249 @@
+package deadwood.util;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import deadwood.model.CastingOffice;
+import deadwood.model.FilmSetRoom;
+import deadwood.model.RoleCard;
+import deadwood.model.Room;
+import deadwood.model.Set;
+import deadwood.model.Trailer;
+
+/**
+ * Streaming loader for board.xml and cards.xml. Builds the same rooms and
+ * cards as BoardXMLParser and CardXMLParser in a single pass over the file,
+ * without keeping a document tree in memory, so it also copes with the large
+ * generated files used for stress tests.
+ *
+ * Repeated names (neighbors show up once per adjacent room) share one String.
+ * A loader is not thread safe, create one per load.
+ */
+public class StaxBoardLoader {
+    private static final int UPGRADE_LEVELS = 5;
+
+    private final XMLInputFactory factory;
+    private final Map<String, String> names;
+
+    public StaxBoardLoader() {
+        this.factory = XMLInputFactory.newInstance();
+        // Board files are plain data, never resolve DTDs or external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        this.names = new HashMap<>();
+    }
+
+    /**
+     * Reads a board file
+     *
+     * @return Rooms keyed by lowercase name, the trailer under "trailer" and
+     *         the casting office under "office", like BoardXMLParser.parseRooms
+     */
+    public Map<String, Room> parseRooms(InputStream in) throws XMLStreamException {
+        Map<String, Room> rooms = new HashMap<>();
+        XMLStreamReader reader = factory.createXMLStreamReader(in);
+        try {
+            // State of the room element being read
+            String setName = null;
+            List<String> neighbors = new ArrayList<>();
+            int takes = 0;
+            List<RoleCard.Role> roles = new ArrayList<>();
+            List<Integer> cashPrices = null;
+            List<Integer> creditPrices = null;
+
+            // State of the part element being read
+            String partName = null;
+            int partLevel = 0;
+            String partLine = "";
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "set":
+                            setName = name(reader.getAttributeValue(null, "name"));
+                            neighbors = new ArrayList<>();
+                            takes = 0;
+                            roles = new ArrayList<>();
+                            break;
+                        case "trailer":
+                        case "office":
+                            neighbors = new ArrayList<>();
+                            cashPrices = null;
+                            creditPrices = null;
+                            break;
+                        case "neighbor":
+                            neighbors.add(name(reader.getAttributeValue(null, "name")));
+                            break;
+                        case "take":
+                            takes++;
+                            break;
+                        case "part":
+                            partName = name(reader.getAttributeValue(null, "name"));
+                            partLevel = Integer.parseInt(reader.getAttributeValue(null, "level"));
+                            partLine = "";
+                            break;
+                        case "line":
+                            partLine = reader.getElementText();
+                            break;
+                        case "upgrades":
+                            cashPrices = new ArrayList<>();
+                            creditPrices = new ArrayList<>();
+                            for (int i = 0; i < UPGRADE_LEVELS; i++) {
+                                cashPrices.add(0);
+                                creditPrices.add(0);
+                            }
+                            break;
+                        case "upgrade":
+                            if (cashPrices != null) {
+                                readUpgrade(reader, cashPrices, creditPrices);
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "part":
+                            if (partName != null) {
+                                roles.add(new RoleCard.Role(partName, partLevel, partLine));
+                            }
+                            partName = null;
+                            break;
+                        case "set":
+                            RoleCard extraRoleCard = new RoleCard(0, "Extra Roles for " + setName,
+                                "Extra roles for the " + setName + " set", "", 0, takes, roles);
+                            FilmSetRoom filmRoom = new FilmSetRoom(setName, neighbors);
+                            Set setObj = new Set(null, takes, roles.size());
+                            setObj.setExtraRolesCard(extraRoleCard);
+                            filmRoom.assignSet(setObj);
+                            rooms.put(setName.toLowerCase(), filmRoom);
+                            break;
+                        case "trailer":
+                            rooms.put("trailer", new Trailer(neighbors));
+                            break;
+                        case "office":
+                            CastingOffice castingOffice = new CastingOffice(neighbors);
+                            if (cashPrices != null) {
+                                castingOffice.setUpgradePricesCash(cashPrices);
+                                castingOffice.setUpgradePricesCredit(creditPrices);
+                            }
+                            rooms.put("office", castingOffice);
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return rooms;
+    }
+
+    /**
+     * Reads a cards file
+     *
+     * @return The scene cards in file order, like CardXMLParser.parseCards
+     */
+    public List<RoleCard> parseCards(InputStream in) throws XMLStreamException {
+        List<RoleCard> cards = new ArrayList<>();
+        XMLStreamReader reader = factory.createXMLStreamReader(in);
+        try {
+            // State of the card element being read
+            String cardName = null;
+            String cardImage = null;
+            int budget = 0;
+            int sceneID = 0;
+            String sceneDescription = "";
+            List<RoleCard.Role> roles = new ArrayList<>();
+
+            // State of the part element being read
+            String partName = null;
+            int partLevel = 0;
+            String partLine = "";
+
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "card":
+                            cardName = reader.getAttributeValue(null, "name");
+                            cardImage = reader.getAttributeValue(null, "img");
+                            budget = Integer.parseInt(reader.getAttributeValue(null, "budget"));
+                            sceneID = 0;
+                            sceneDescription = "";
+                            roles = new ArrayList<>();
+                            break;
+                        case "scene":
+                            sceneID = Integer.parseInt(reader.getAttributeValue(null, "number"));
+                            sceneDescription = reader.getElementText().trim();
+                            break;
+                        case "part":
+                            partName = name(reader.getAttributeValue(null, "name"));
+                            partLevel = Integer.parseInt(reader.getAttributeValue(null, "level"));
+                            partLine = "";
+                            break;
+                        case "line":
+                            partLine = reader.getElementText();
+                            break;
+                        default:
+                            break;
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "part":
+                            if (partName != null) {
+                                roles.add(new RoleCard.Role(partName, partLevel, partLine));
+                            }
+                            partName = null;
+                            break;
+                        case "card":
+                            cards.add(new RoleCard(sceneID, cardName, sceneDescription, cardImage, budget, 3, roles));
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return cards;
+    }
+
+    // Same rules as BoardXMLParser.parseUpgrades: level is the target rank,
+    // stored at index level - 2, anything out of range is ignored
+    private static void readUpgrade(XMLStreamReader reader, List<Integer> cashPrices, List<Integer> creditPrices) {
+        int level = Integer.parseInt(reader.getAttributeValue(null, "level"));
+        String currency = reader.getAttributeValue(null, "currency");
+        int amount = Integer.parseInt(reader.getAttributeValue(null, "amt"));
+
+        int index = level - 2;
+        if (index >= 0 && index < UPGRADE_LEVELS) {
+            if ("dollar".equals(currency)) {
+                cashPrices.set(index, amount);
+            } else if ("credit".equals(currency)) {
+                creditPrices.set(index, amount);
+            }
+        }
+    }
+
+    // One String instance per distinct name
+    private String name(String value) {
+        if (value == null) {
+            return null;
+        }
+        String shared = names.putIfAbsent(value, value);
+        return shared != null ? shared : value;
+    }
+}
@@ -0,0 +1,98 @@
+package deadwood.util;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Keeps game messages as typed records instead of text on a console, for
+ * replays, tests of the rules, or sending events to remote clients. Only the
+ * requested message types are kept.
+ *
+ * Not thread safe, like the game it listens to.
+ */
+public class StructuredMessageSink implements GameMessageSink {
+    private EnumSet<Type> types;
+    private List<Message> messages;
+
+    /**
+     * A single recorded message
+     */
+    public static class Message {
+        private Type type;
+        private int playerID;
+        private String text;
+
+        public Message(Type type, int playerID, String text) {
+            this.type = type;
+            this.playerID = playerID;
+            this.text = text;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        // NO_PLAYER for game wide messages
+        public int getPlayerID() {
+            return playerID;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            return type + (playerID != NO_PLAYER ? " [Player " + playerID + "] " : " ") + text;
+        }
+    }
+
+    /**
+     * Keeps messages of every type
+     */
+    public StructuredMessageSink() {
+        this(EnumSet.allOf(Type.class));
+    }
+
+    /**
+     * @param types Message types to keep, everything else is dropped
+     */
+    public StructuredMessageSink(EnumSet<Type> types) {
+        this.types = EnumSet.copyOf(types);
+        this.messages = new ArrayList<>();
+    }
+
+    @Override
+    public void message(Type type, int playerID, String text) {
+        if (types.contains(type)) {
+            messages.add(new Message(type, playerID, text));
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !types.isEmpty();
+    }
+
+    @Override
+    public boolean isEnabled(Type type) {
+        return types.contains(type);
+    }
+
+    /**
+     * @return Messages recorded so far, oldest first
+     */
+    public List<Message> getMessages() {
+        return new ArrayList<>(messages);
+    }
+
+    /**
+     * Returns the recorded messages and forgets them
+     */
+    public List<Message> drain() {
+        List<Message> drained = messages;
+        messages = new ArrayList<>();
+        return drained;
+    }
+}
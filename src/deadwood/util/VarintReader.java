@@ -0,0 +1,52 @@
+package deadwood.util;
+
+/**
+ * Reads the ints written by VarintWriter back from a byte array
+ */
+public final class VarintReader {
+    private final byte[] bytes;
+    private final int end;
+    private int position;
+
+    public VarintReader(byte[] bytes) {
+        this(bytes, 0, bytes.length);
+    }
+
+    public VarintReader(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IllegalArgumentException("Range " + offset + "+" + length
+                + " is outside " + bytes.length + " bytes");
+        }
+        this.bytes = bytes;
+        this.position = offset;
+        this.end = offset + length;
+    }
+
+    public int readUnsigned() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            if (position >= end) {
+                throw new IllegalArgumentException("Truncated varint at byte " + position);
+            }
+            byte b = bytes[position++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Varint longer than five bytes at byte " + position);
+    }
+
+    public int readSigned() {
+        int raw = readUnsigned();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public boolean hasRemaining() {
+        return position < end;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+}
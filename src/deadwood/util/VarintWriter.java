@@ -0,0 +1,55 @@
+package deadwood.util;
+
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer for variable length ints: 7 bits per byte, low bits
+ * first, the high bit set on every byte but the last. Small values take one
+ * byte, any int at most five. Signed values are zigzag encoded first so
+ * small negative numbers stay small too.
+ */
+public final class VarintWriter {
+    private byte[] bytes;
+    private int size;
+
+    public VarintWriter() {
+        this(32);
+    }
+
+    public VarintWriter(int initialCapacity) {
+        this.bytes = new byte[Math.max(1, initialCapacity)];
+    }
+
+    // Writes an int as unsigned, negative values take five bytes
+    public void writeUnsigned(int value) {
+        ensureCapacity(5);
+        while ((value & ~0x7F) != 0) {
+            bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        bytes[size++] = (byte) value;
+    }
+
+    public void writeSigned(int value) {
+        writeUnsigned((value << 1) ^ (value >> 31));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Empties the buffer but keeps its memory
+    public void reset() {
+        size = 0;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
@@ -10,6 +10,7 @@ import deadwood.model.PlayerLocation;
 import deadwood.controller.GameController.BoardViewModel;
 import deadwood.controller.GameController.PlayerTokenViewModel;
 import deadwood.controller.GameController.ShotCounterViewModel;
+import deadwood.util.GameMessageSink;
 
 /**
  * Panel for displaying the game board and player tokens.
@@ -26,7 +27,7 @@ public class BoardPanel extends JPanel implements GameController.GameObserver {
 
     public BoardPanel(GameController controller) {
         this.controller = controller;
-        this.controller.registerObserver(this);
+        SwingObserver.register(this.controller, this);
         this.playerTokens = new HashMap<>();
         this.shotCounters = new HashMap<>();
 
@@ -88,7 +89,7 @@ public class BoardPanel extends JPanel implements GameController.GameObserver {
             // Get position for this room
             Point position = PlayerLocation.getRoomPosition(roomID.toLowerCase());
             if (position == null) {
-                System.out.println("Warning: No position found for room: " + roomID);
+                warn("Warning: No position found for room: " + roomID);
                 continue;
             }
 
@@ -188,7 +189,7 @@ public class BoardPanel extends JPanel implements GameController.GameObserver {
 
         // Debug output to check if image is loading
         if (diceIcon.getIconWidth() <= 0) {
-            System.out.println("Warning: Failed to load dice image: " + diceImagePath);
+            warn("Warning: Failed to load dice image: " + diceImagePath);
             // Create a colored square as a fallback
             JLabel fallbackToken = new JLabel();
             fallbackToken.setPreferredSize(new Dimension(30, 30));
@@ -236,20 +237,24 @@ public class BoardPanel extends JPanel implements GameController.GameObserver {
         // Get the scaled position for the room from the PlayerLocation model
         Point roomPos = PlayerLocation.getScaledRoomPosition(tokenVM.getRoomId(), scaleFactor);
         if (roomPos == null) {
-            System.out.println("Warning: No position found for room: " + tokenVM.getRoomId());
+            warn("Warning: No position found for room: " + tokenVM.getRoomId());
             tokenLabel.setVisible(false);
             return;
         }
 
-        // Add offset based on player ID to prevent exact overlap
+        // Offset by the token's place in its room to prevent overlap
         int playerID = tokenVM.getPlayerId();
-        int offsetX = (int) (((playerID - 1) % 3) * 55 * scaleFactor);
-        int offsetY = (int) (((playerID - 1) / 3) * 55 * scaleFactor);
+        int slot = tokenVM.getSlot();
+        int offsetX = (int) ((slot % 3) * 55 * scaleFactor);
+        int offsetY = (int) ((slot / 3) * 55 * scaleFactor);
 
         // Debug output
-        System.out.println("Positioning player " + playerID + " at: " +
-                (roomPos.x + offsetX) + "," + (roomPos.y + offsetY) +
-                " (Room: " + tokenVM.getRoomId() + ")");
+        GameMessageSink messages = controller.getMessageSink();
+        if (messages.isEnabled(GameMessageSink.Type.MOVE)) {
+            messages.message(GameMessageSink.Type.MOVE, playerID, "Positioning player " + playerID + " at: " +
+                    (roomPos.x + offsetX) + "," + (roomPos.y + offsetY) +
+                    " (Room: " + tokenVM.getRoomId() + ")");
+        }
 
         // Update token position with explicit size
         int tokenWidth = tokenLabel.getWidth();
@@ -312,4 +317,8 @@ public class BoardPanel extends JPanel implements GameController.GameObserver {
     public void onBoardChanged() {
         updateBoard();
     }
-}
\ No newline at end of file
+
+    private void warn(String text) {
+        controller.getMessageSink().message(GameMessageSink.Type.WARNING, GameMessageSink.NO_PLAYER, text);
+    }
+}
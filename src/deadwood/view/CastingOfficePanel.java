@@ -25,7 +25,7 @@ public class CastingOfficePanel extends JPanel implements GameController.GameObs
     public CastingOfficePanel(GameController controller, GameView parentView) {
         this.controller = controller;
         this.parentView = parentView;
-        this.controller.registerObserver(this);
+        SwingObserver.register(this.controller, this);
         
         // Set panel properties
         setBorder(BorderFactory.createTitledBorder(
@@ -115,7 +115,7 @@ public class CastingOfficePanel extends JPanel implements GameController.GameObs
         setVisible(inCastingOffice);
         
         // Update button enabled state - only enable if player has no role
-        boolean canUpgrade = inCastingOffice && (player.getCurrentRole() == null);
+        boolean canUpgrade = inCastingOffice && (player.getCurrentRole() == null) && !controller.isBotTurn();
         cashUpgradeButton.setEnabled(canUpgrade);
         creditUpgradeButton.setEnabled(canUpgrade);
     }
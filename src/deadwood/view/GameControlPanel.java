@@ -29,7 +29,7 @@ public class GameControlPanel extends JPanel implements GameController.GameObser
     public GameControlPanel(GameController controller, GameView parentView) {
         this.controller = controller;
         this.parentView = parentView;
-        this.controller.registerObserver(this);
+        SwingObserver.register(this.controller, this);
         
         // Set panel properties
         setBorder(BorderFactory.createTitledBorder(
@@ -133,6 +133,16 @@ public class GameControlPanel extends JPanel implements GameController.GameObser
         
         // END TURN - always enabled
         endTurnButton.setEnabled(true);
+
+        // The computer plays its own turns
+        abandonRoleButton.setEnabled(!controller.isBotTurn());
+        if (controller.isBotTurn()) {
+            actButton.setEnabled(false);
+            rehearseButton.setEnabled(false);
+            moveButton.setEnabled(false);
+            takeRoleButton.setEnabled(false);
+            endTurnButton.setEnabled(false);
+        }
     }
 
     /**
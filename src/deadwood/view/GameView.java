@@ -1,9 +1,12 @@
 package deadwood.view;
 
 import java.awt.*;
+import java.util.List;
 import javax.swing.*;
 
 import deadwood.controller.GameController;
+import deadwood.controller.GameOverEvent;
+import deadwood.controller.MctsBot;
 import deadwood.controller.GameController.PlayerViewModel;
 
 /**
@@ -20,18 +23,40 @@ public class GameView extends JFrame implements GameController.GameObserver {
     private CastingOfficePanel castingOfficePanel;
     private JPanel sidebarPanel;
     private JLabel gameStatusLabel;
+    private JProgressBar dayProgressBar;
+    private boolean botThinking;
 
     // Constants for layout dimensions
     private static final int SIDEBAR_WIDTH = 260;
 
+    // Time a bot may think about each move
+    private static final long BOT_MOVE_MILLIS = 1000;
+
     public GameView(int numPlayers) {
+        this(numPlayers, 0);
+    }
+
+    /**
+     * @param numPlayers Total number of players
+     * @param numBots How many of the last seats are played by the computer
+     */
+    public GameView(int numPlayers, int numBots) {
         super("Deadwood - Board Game");
 
         // Initialize controller
         this.controller = new GameController(numPlayers);
 
-        // Register as observer
-        this.controller.registerObserver(this);
+        // The last numBots seats share one bot, it only ever searches one move at a time
+        if (numBots > 0) {
+            MctsBot bot = new MctsBot(BOT_MOVE_MILLIS);
+            List<PlayerViewModel> players = controller.getAllPlayersViewModels();
+            for (int i = Math.max(0, players.size() - numBots); i < players.size(); i++) {
+                controller.setBot(players.get(i).getPlayerId(), bot);
+            }
+        }
+
+        // Register as observer, notified on the event thread
+        SwingObserver.register(this.controller, this);
 
         // Setup frame properties
         setDefaultCloseOperation(EXIT_ON_CLOSE);
@@ -44,6 +69,33 @@ public class GameView extends JFrame implements GameController.GameObserver {
         pack();
         setLocationRelativeTo(null);
         setVisible(true);
+
+        // A bot may hold the first seat
+        startBotTurn();
+    }
+
+    /**
+     * Lets the bot search in the background when it is its turn, the chosen
+     * action is played back on the event thread
+     */
+    private void startBotTurn() {
+        if (botThinking || !controller.isBotTurn()) {
+            return;
+        }
+
+        botThinking = true;
+        gameStatusLabel.setText("Player " + controller.getCurrentPlayerViewModel().getPlayerId() + " (computer) is thinking...");
+        controller.requestBotAction().whenComplete((action, error) -> SwingUtilities.invokeLater(() -> {
+            botThinking = false;
+            if (error != null) {
+                error.printStackTrace();
+                controller.endTurn();
+                return;
+            }
+            gameStatusLabel.setText("Player " + controller.getCurrentPlayerViewModel().getPlayerId()
+                    + " (computer): " + controller.describeAction(action));
+            controller.playAction(action);
+        }));
     }
 
     /**
@@ -72,6 +124,11 @@ public class GameView extends JFrame implements GameController.GameObserver {
         gameStatusLabel.setHorizontalAlignment(SwingConstants.CENTER);
         gameStatusLabel.setBorder(BorderFactory.createEmptyBorder(5, 0, 5, 0));
 
+        // Scenes wrapped today, the day ends when the bar is full
+        dayProgressBar = new JProgressBar();
+        dayProgressBar.setStringPainted(true);
+        dayProgressBar.setAlignmentX(Component.CENTER_ALIGNMENT);
+
         // Create sidebar container
         sidebarPanel = new JPanel();
         sidebarPanel.setLayout(new BoxLayout(sidebarPanel, BoxLayout.Y_AXIS));
@@ -87,6 +144,7 @@ public class GameView extends JFrame implements GameController.GameObserver {
         sidebarPanel.add(Box.createVerticalStrut(10));
         sidebarPanel.add(sceneInfoPanel);
         sidebarPanel.add(Box.createVerticalGlue()); // Add glue to push components to the top
+        sidebarPanel.add(dayProgressBar);
         sidebarPanel.add(gameStatusLabel);
 
         // Use a scroll pane for the sidebar in case it gets too tall
@@ -123,6 +181,7 @@ public class GameView extends JFrame implements GameController.GameObserver {
 
         // Update frame title with initial game information
         updateFrameTitle();
+        updateDayProgress();
     }
 
     /**
@@ -186,12 +245,23 @@ public class GameView extends JFrame implements GameController.GameObserver {
         return controller.getAllPlayersViewModels().size();
     }
 
+    /**
+     * Update the day progress bar
+     */
+    private void updateDayProgress() {
+        GameController.DayProgressViewModel progress = controller.getDayProgressViewModel();
+        dayProgressBar.setMaximum(Math.max(1, progress.getScenesToday()));
+        dayProgressBar.setValue(progress.getScenesWrapped());
+        dayProgressBar.setString("Day " + progress.getCurrentDay() + " of " + progress.getMaxDays() + ": "
+                + progress.getScenesWrapped() + "/" + progress.getScenesToday() + " scenes wrapped");
+    }
+
     /**
      * Update the game status label
      */
     private void updateGameStatus() {
         PlayerViewModel player = controller.getCurrentPlayerViewModel();
-        if (player != null) {
+        if (player != null && !botThinking) {
             gameStatusLabel.setText("Player " + player.getPlayerId() + "'s Turn - Waiting for action...");
         }
     }
@@ -203,8 +273,10 @@ public class GameView extends JFrame implements GameController.GameObserver {
     public void onGameStateChanged() {
         updateFrameTitle();
         updateGameStatus();
+        updateDayProgress();
         revalidate();
         repaint();
+        startBotTurn();
     }
 
     @Override
@@ -215,6 +287,9 @@ public class GameView extends JFrame implements GameController.GameObserver {
 
     @Override
     public void onSceneChanged(GameController.SceneViewModel scene) {
+        // A wrapped scene moves the day along
+        updateDayProgress();
+
         // Update the frame title if the scene change affects a role's status
         if (isCurrentRoleCompleted()) {
             updateFrameTitle();
@@ -226,6 +301,23 @@ public class GameView extends JFrame implements GameController.GameObserver {
         // Not directly relevant for main frame, BoardPanel will handle this
     }
 
+    @Override
+    public void onGameOver(GameOverEvent event) {
+        gameStatusLabel.setText("Game over! Player " + event.getWinner().getPlayerID() + " wins.");
+
+        // Show the final standings, closing the dialog closes the game. The
+        // notification can arrive while the game's last action is still
+        // running, so the modal dialog waits until that action is done
+        SwingUtilities.invokeLater(() -> {
+            JOptionPane.showMessageDialog(
+                    this,
+                    event.toString(),
+                    "Deadwood - Game Over",
+                    JOptionPane.INFORMATION_MESSAGE);
+            dispose();
+        });
+    }
+
     /**
      * Entry point for the GUI version of the game
      */
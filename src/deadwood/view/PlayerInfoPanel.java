@@ -21,10 +21,11 @@ public class PlayerInfoPanel extends JPanel implements GameController.GameObserv
     private JLabel playerRoleLabel;
     private JLabel rehearsalBonusLabel;
     private JLabel roleStatusLabel;
+    private JLabel actingOddsLabel;
 
     public PlayerInfoPanel(GameController controller) {
         this.controller = controller;
-        this.controller.registerObserver(this);
+        SwingObserver.register(this.controller, this);
         
         // Set panel properties
         setBorder(BorderFactory.createTitledBorder(
@@ -34,7 +35,7 @@ public class PlayerInfoPanel extends JPanel implements GameController.GameObserv
             TitledBorder.TOP));
         
         setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
-        setPreferredSize(new Dimension(260, 170));  // Increased height for role status
+        setPreferredSize(new Dimension(260, 190));  // Increased height for role status and odds
         
         // Initialize components
         initializeComponents();
@@ -66,6 +67,11 @@ public class PlayerInfoPanel extends JPanel implements GameController.GameObserv
         rehearsalBonusLabel = new JLabel("Rehearsal Bonus: 0");
         rehearsalBonusLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         
+        // Act/rehearse hint
+        actingOddsLabel = new JLabel("");
+        actingOddsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        actingOddsLabel.setForeground(Color.DARK_GRAY);
+        
         // Add components with spacing
         add(Box.createVerticalStrut(5));
         add(playerIdLabel);
@@ -78,6 +84,8 @@ public class PlayerInfoPanel extends JPanel implements GameController.GameObserv
         add(Box.createVerticalStrut(5));
         add(rehearsalBonusLabel);
         add(Box.createVerticalStrut(5));
+        add(actingOddsLabel);
+        add(Box.createVerticalStrut(5));
     }
     
     /**
@@ -136,9 +144,14 @@ public class PlayerInfoPanel extends JPanel implements GameController.GameObserv
             if (roleActed) {
                 roleStatusLabel.setText("Status: COMPLETED - Cannot act again");
                 roleStatusLabel.setForeground(new Color(139, 0, 0));  // Dark red
+                actingOddsLabel.setVisible(false);
             } else {
                 roleStatusLabel.setText("Status: Active - Ready to act");
                 roleStatusLabel.setForeground(new Color(0, 100, 0));  // Dark green
+                actingOddsLabel.setText(String.format("Acting odds: %.0f%% - %s",
+                        player.getActingChance() * 100,
+                        player.isRehearsalAdvised() ? "rehearse first" : "act now"));
+                actingOddsLabel.setVisible(true);
             }
             roleStatusLabel.setVisible(true);
         } else {
@@ -147,6 +160,8 @@ public class PlayerInfoPanel extends JPanel implements GameController.GameObserv
             rehearsalBonusLabel.setVisible(false);
             roleStatusLabel.setText("");
             roleStatusLabel.setVisible(false);
+            actingOddsLabel.setText("");
+            actingOddsLabel.setVisible(false);
         }
     }
     
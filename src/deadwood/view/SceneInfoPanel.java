@@ -23,7 +23,7 @@ public class SceneInfoPanel extends JPanel implements GameController.GameObserve
 
     public SceneInfoPanel(GameController controller) {
         this.controller = controller;
-        this.controller.registerObserver(this);
+        SwingObserver.register(this.controller, this);
         
         // Set panel properties
         setBorder(BorderFactory.createTitledBorder(
@@ -0,0 +1,64 @@
+package deadwood.view;
+
+import javax.swing.SwingUtilities;
+
+import deadwood.controller.GameController;
+import deadwood.controller.GameController.PlayerViewModel;
+import deadwood.controller.GameController.SceneViewModel;
+import deadwood.controller.GameOverEvent;
+
+/**
+ * Hands a Swing component's game notifications to the event dispatch
+ * thread. The controller calls observers on whichever thread runs the
+ * action, which is not always the event thread, so every view registers
+ * through this instead of registering itself.
+ *
+ * Notifications that already arrive on the event thread are delivered
+ * straight away, the others are posted with SwingUtilities.invokeLater
+ * and keep their order.
+ */
+final class SwingObserver implements GameController.GameObserver {
+    private final GameController.GameObserver view;
+
+    private SwingObserver(GameController.GameObserver view) {
+        this.view = view;
+    }
+
+    // Registers a view so that it is only ever notified on the event thread
+    static void register(GameController controller, GameController.GameObserver view) {
+        controller.registerObserver(new SwingObserver(view));
+    }
+
+    @Override
+    public void onGameStateChanged() {
+        onEventThread(view::onGameStateChanged);
+    }
+
+    @Override
+    public void onPlayerChanged(PlayerViewModel player) {
+        onEventThread(() -> view.onPlayerChanged(player));
+    }
+
+    @Override
+    public void onSceneChanged(SceneViewModel scene) {
+        onEventThread(() -> view.onSceneChanged(scene));
+    }
+
+    @Override
+    public void onBoardChanged() {
+        onEventThread(view::onBoardChanged);
+    }
+
+    @Override
+    public void onGameOver(GameOverEvent event) {
+        onEventThread(() -> view.onGameOver(event));
+    }
+
+    private static void onEventThread(Runnable notification) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            notification.run();
+        } else {
+            SwingUtilities.invokeLater(notification);
+        }
+    }
+}